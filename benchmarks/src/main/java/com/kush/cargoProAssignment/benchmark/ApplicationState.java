@@ -0,0 +1,95 @@
+package com.kush.cargoProAssignment.benchmark;
+
+import com.kush.cargoProAssignment.LoadBookingSystemApplication;
+import com.kush.cargoProAssignment.model.Booking;
+import com.kush.cargoProAssignment.model.Load;
+import com.kush.cargoProAssignment.model.LoadBookingCounts;
+import com.kush.cargoProAssignment.repository.BookingRepository;
+import com.kush.cargoProAssignment.repository.LoadBookingCountsRepository;
+import com.kush.cargoProAssignment.repository.LoadRepository;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots the application once per fork against an in-memory H2 database ("bench" profile)
+ * and seeds it with {@link #LOADS} loads carrying {@link #BOOKINGS_PER_LOAD} bookings each.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    static final int LOADS = 10_000;
+    static final int BOOKINGS_PER_LOAD = 3;
+
+    private ConfigurableApplicationContext context;
+    private final List<UUID> loadIds = new ArrayList<>(LOADS);
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = boot(WebApplicationType.NONE);
+        loadIds.addAll(seed(context));
+    }
+
+    /** Starts the application with the "bench" profile; {@code args} are extra {@code --key=value} overrides. */
+    static ConfigurableApplicationContext boot(WebApplicationType webApplicationType, String... args) {
+        return new SpringApplicationBuilder(LoadBookingSystemApplication.class)
+                .web(webApplicationType)
+                .profiles("bench")
+                .run(args);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public UUID loadId(int i) {
+        return loadIds.get(Math.floorMod(i, loadIds.size()));
+    }
+
+    /** Inserts the standard data set and returns the load ids in insertion order. */
+    static List<UUID> seed(ConfigurableApplicationContext context) {
+        LoadRepository loadRepository = context.getBean(LoadRepository.class);
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+        List<UUID> loadIds = new ArrayList<>(LOADS);
+
+        List<Load> loads = new ArrayList<>(LOADS);
+        for (int i = 0; i < LOADS; i++) {
+            Load load = BenchmarkFixtures.load(i);
+            load.setId(null);
+            loads.add(load);
+        }
+        loads = loadRepository.saveAll(loads);
+
+        List<Booking> bookings = new ArrayList<>(LOADS * BOOKINGS_PER_LOAD);
+        for (int i = 0; i < loads.size(); i++) {
+            loadIds.add(loads.get(i).getId());
+            for (int j = 0; j < BOOKINGS_PER_LOAD; j++) {
+                Booking booking = BenchmarkFixtures.booking(loads.get(i), i * BOOKINGS_PER_LOAD + j);
+                booking.setId(null);
+                bookings.add(booking);
+            }
+        }
+        bookingRepository.saveAll(bookings);
+
+        // Bookings saved through the repository bypass BookingService, which keeps these counts
+        List<LoadBookingCounts> counts = loadIds.stream()
+                .map(id -> new LoadBookingCounts(id, BOOKINGS_PER_LOAD, 0, 0))
+                .toList();
+        context.getBean(LoadBookingCountsRepository.class).saveAll(counts);
+        return loadIds;
+    }
+}
@@ -0,0 +1,75 @@
+package com.kush.cargoProAssignment.benchmark;
+
+import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.dto.FacilityDTO;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.model.Booking;
+import com.kush.cargoProAssignment.model.Facility;
+import com.kush.cargoProAssignment.model.Load;
+import com.kush.cargoProAssignment.model.enums.BookingStatus;
+import com.kush.cargoProAssignment.model.enums.LoadStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+final class BenchmarkFixtures {
+
+    private static final LocalDateTime BASE_DATE = LocalDateTime.of(2024, 8, 1, 10, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    static Load load(int i) {
+        Load load = new Load();
+        load.setId(UUID.randomUUID());
+        load.setShipperId("SHIPPER" + (i % 10));
+        load.setFacility(new Facility("Delhi", "Mumbai", BASE_DATE.plusHours(i), BASE_DATE.plusHours(i + 48)));
+        load.setProductType("Electronics");
+        load.setTruckType(i % 2 == 0 ? "Container" : "Flatbed");
+        load.setNoOfTrucks(1 + i % 4);
+        load.setWeight(1000.0 + i);
+        load.setComment("Fragile items, handle with care");
+        load.setDatePosted(BASE_DATE.minusDays(1));
+        load.setStatus(LoadStatus.POSTED);
+        return load;
+    }
+
+    static Booking booking(Load load, int i) {
+        Booking booking = new Booking();
+        booking.setId(UUID.randomUUID());
+        booking.setLoad(load);
+        booking.setTransporterId("TRANSPORTER" + (i % 50));
+        booking.setProposedRate(40000.0 + i);
+        booking.setComment("Interested in this load");
+        booking.setStatus(BookingStatus.PENDING);
+        booking.setRequestedAt(BASE_DATE);
+        return booking;
+    }
+
+    static LoadDTO loadDTO(int i) {
+        FacilityDTO facility = new FacilityDTO();
+        facility.setLoadingPoint("Delhi");
+        facility.setUnloadingPoint("Mumbai");
+        facility.setLoadingDate(BASE_DATE.plusHours(i));
+        facility.setUnloadingDate(BASE_DATE.plusHours(i + 48));
+
+        LoadDTO loadDTO = new LoadDTO();
+        loadDTO.setShipperId("SHIPPER" + (i % 10));
+        loadDTO.setFacility(facility);
+        loadDTO.setProductType("Electronics");
+        loadDTO.setTruckType(i % 2 == 0 ? "Container" : "Flatbed");
+        loadDTO.setNoOfTrucks(1 + i % 4);
+        loadDTO.setWeight(1000.0 + i);
+        loadDTO.setComment("Fragile items, handle with care");
+        return loadDTO;
+    }
+
+    static BookingDTO bookingDTO(UUID loadId, int i) {
+        BookingDTO bookingDTO = new BookingDTO();
+        bookingDTO.setLoadId(loadId);
+        bookingDTO.setTransporterId("TRANSPORTER" + (i % 50));
+        bookingDTO.setProposedRate(40000.0 + i);
+        bookingDTO.setComment("Interested in this load");
+        return bookingDTO;
+    }
+}
@@ -0,0 +1,37 @@
+package com.kush.cargoProAssignment.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Entry point for {@code mvn exec:exec}. Accepts the regular JMH command line and always
+ * attaches the GC profiler, so every result carries {@code gc.alloc.rate.norm} (bytes per op)
+ * next to the primary score. Afterwards the scores are checked against
+ * {@code benchmark-targets.properties} and the process exits with status 1 if any target is missed.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        List<String> misses = BenchmarkTargets.load().check(results);
+        if (!misses.isEmpty()) {
+            System.err.println(misses.size() + " benchmark target(s) missed");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.kush.cargoProAssignment.benchmark;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Score targets from {@code benchmark-targets.properties}. A throughput target is a minimum,
+ * a time-based target is a maximum.
+ */
+final class BenchmarkTargets {
+
+    private static final String RESOURCE = "/benchmark-targets.properties";
+
+    private final Properties targets;
+
+    private BenchmarkTargets(Properties targets) {
+        this.targets = targets;
+    }
+
+    static BenchmarkTargets load() {
+        Properties targets = new Properties();
+        try (InputStream in = BenchmarkTargets.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                targets.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new BenchmarkTargets(targets);
+    }
+
+    /** Checks every result that has a target, prints one line per check and returns the misses. */
+    List<String> check(Collection<RunResult> results) {
+        List<String> misses = new ArrayList<>();
+        for (RunResult result : results) {
+            BenchmarkParams params = result.getParams();
+            String key = key(params.getBenchmark());
+            String target = targets.getProperty(key);
+            if (target == null) {
+                continue;
+            }
+
+            double limit = Double.parseDouble(target.trim());
+            double score = result.getPrimaryResult().getScore();
+            boolean minimum = params.getMode() == Mode.Throughput;
+            boolean met = minimum ? score >= limit : score <= limit;
+
+            String line = String.format("%s %s: %.3f %s (target %s %.3f)",
+                    met ? "PASS" : "MISS", describe(key, params), score,
+                    result.getPrimaryResult().getScoreUnit(), minimum ? ">=" : "<=", limit);
+            System.out.println(line);
+            if (!met) {
+                misses.add(line);
+            }
+        }
+        return misses;
+    }
+
+    // "com.example.FooBenchmark.bar" -> "FooBenchmark.bar"
+    private static String key(String benchmark) {
+        int method = benchmark.lastIndexOf('.');
+        int type = benchmark.lastIndexOf('.', method - 1);
+        return benchmark.substring(type + 1);
+    }
+
+    private static String describe(String key, BenchmarkParams params) {
+        if (params.getParamsKeys().isEmpty()) {
+            return key;
+        }
+        List<String> values = new ArrayList<>();
+        for (String name : params.getParamsKeys()) {
+            values.add(name + "=" + params.getParam(name));
+        }
+        return key + " " + values;
+    }
+}
@@ -0,0 +1,90 @@
+package com.kush.cargoProAssignment.benchmark;
+
+import com.kush.cargoProAssignment.dto.BookingAwardDTO;
+import com.kush.cargoProAssignment.model.Booking;
+import com.kush.cargoProAssignment.model.Load;
+import com.kush.cargoProAssignment.model.LoadBookingCounts;
+import com.kush.cargoProAssignment.repository.BookingRepository;
+import com.kush.cargoProAssignment.repository.LoadBookingCountsRepository;
+import com.kush.cargoProAssignment.repository.LoadRepository;
+import com.kush.cargoProAssignment.service.BookingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One PUT /booking/{id}/award on a load with {@link #BIDS} pending bids: the accept plus rejecting
+ * the other BIDS - 1 with bulk updates, and their outbox events. Each invocation gets a fresh load.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingAwardBenchmark {
+
+    static final int BIDS = 5_000;
+
+    private Path sinkFile;
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private LoadRepository loadRepository;
+    private BookingRepository bookingRepository;
+    private LoadBookingCountsRepository loadBookingCountsRepository;
+    private int invocation;
+    private UUID winningBid;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        // Events are only recorded when there is a sink; the relay never runs, so the file stays empty
+        sinkFile = Files.createTempFile("outbox", ".ndjson");
+        context = ApplicationState.boot(WebApplicationType.NONE,
+                "--outbox.file-sink.path=" + sinkFile,
+                "--outbox.relay.interval=1h");
+        bookingService = context.getBean(BookingService.class);
+        loadRepository = context.getBean(LoadRepository.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        loadBookingCountsRepository = context.getBean(LoadBookingCountsRepository.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void postLoadWithBids() {
+        Load load = BenchmarkFixtures.load(invocation++);
+        load.setId(null);
+        load = loadRepository.save(load);
+
+        List<Booking> bookings = new ArrayList<>(BIDS);
+        for (int i = 0; i < BIDS; i++) {
+            Booking booking = BenchmarkFixtures.booking(load, i);
+            booking.setId(null);
+            bookings.add(booking);
+        }
+        winningBid = bookingRepository.saveAll(bookings).get(0).getId();
+        // Bookings saved through the repository bypass BookingService, which keeps these counts
+        loadBookingCountsRepository.save(new LoadBookingCounts(load.getId(), BIDS, 0, 0));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        Files.deleteIfExists(sinkFile);
+    }
+
+    @Benchmark
+    public BookingAwardDTO award_5kBids() {
+        BookingAwardDTO award = bookingService.awardBooking(winningBid);
+        if (award.getRejected() != BIDS - 1) {
+            throw new IllegalStateException("Rejected " + award.getRejected() + " bids");
+        }
+        return award;
+    }
+}
@@ -0,0 +1,45 @@
+package com.kush.cargoProAssignment.benchmark;
+
+import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.service.BookingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BookingServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ApplicationState application;
+    private BookingService bookingService;
+    private int counter;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        this.application = application;
+        bookingService = application.bean(BookingService.class);
+    }
+
+    @Benchmark
+    public BookingDTO createBooking() {
+        int i = counter++;
+        return bookingService.createBooking(BenchmarkFixtures.bookingDTO(application.loadId(i), i));
+    }
+
+    @Benchmark
+    public Page<BookingDTO> getBookings_byLoad() {
+        return bookingService.getBookings(application.loadId(counter++), null, null, 1, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<BookingDTO> getBookings_byTransporter() {
+        return bookingService.getBookings(null, "TRANSPORTER" + (counter++ % 50), null, 1, PAGE_SIZE);
+    }
+}
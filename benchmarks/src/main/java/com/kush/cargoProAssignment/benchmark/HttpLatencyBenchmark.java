@@ -0,0 +1,86 @@
+package com.kush.cargoProAssignment.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end request latency over HTTP with {@link #CLIENTS} concurrent callers against a connection
+ * pool of {@link #DB_POOL_SIZE}, once on Tomcat's platform-thread pool and once on virtual threads.
+ * SampleTime reports the latency distribution, so compare the p0.99/p0.999 rows between the two runs.
+ * Each fork runs with -Djdk.tracePinnedThreads=short, so pinned virtual threads show up in the output.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+@Threads(HttpLatencyBenchmark.CLIENTS)
+public class HttpLatencyBenchmark {
+
+    // Above both the connection pool and Tomcat's default 200 request threads
+    static final int CLIENTS = 256;
+    static final int DB_POOL_SIZE = 10;
+
+    @State(Scope.Benchmark)
+    public static class Server {
+
+        @Param({"false", "true"})
+        public boolean virtualThreads;
+
+        private ConfigurableApplicationContext context;
+        private List<UUID> loadIds;
+        private HttpClient client;
+        private String baseUrl;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = ApplicationState.boot(WebApplicationType.SERVLET,
+                    "--spring.main.web-application-type=servlet",
+                    "--server.port=0",
+                    "--spring.threads.virtual.enabled=" + virtualThreads,
+                    "--spring.datasource.hikari.maximum-pool-size=" + DB_POOL_SIZE);
+            loadIds = ApplicationState.seed(context);
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            client.close();
+            context.close();
+        }
+
+        String get(String path) throws IOException, InterruptedException {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(path + " returned " + response.statusCode());
+            }
+            return response.body();
+        }
+    }
+
+    @Benchmark
+    public String getLoads_byShipper(Server server) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return server.get("/load?shipperId=SHIPPER" + random.nextInt(10) + "&page=" + (1 + random.nextInt(25)) + "&size=20");
+    }
+
+    @Benchmark
+    public String getLoadById(Server server) throws Exception {
+        UUID id = server.loadIds.get(ThreadLocalRandom.current().nextInt(server.loadIds.size()));
+        return server.get("/load/" + id);
+    }
+}
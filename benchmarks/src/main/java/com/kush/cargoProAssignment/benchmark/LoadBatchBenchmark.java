@@ -0,0 +1,46 @@
+package com.kush.cargoProAssignment.benchmark;
+
+import com.kush.cargoProAssignment.dto.BatchResultDTO;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.service.LoadService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Scores are loads inserted per second; createLoads_batch has a minimum in benchmark-targets.properties
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(LoadBatchBenchmark.BATCH_SIZE)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LoadBatchBenchmark {
+
+    static final int BATCH_SIZE = 1000;
+
+    private LoadService loadService;
+    private List<LoadDTO> batch;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        loadService = application.bean(LoadService.class);
+        batch = IntStream.range(0, BATCH_SIZE).mapToObj(BenchmarkFixtures::loadDTO).toList();
+    }
+
+    @Benchmark
+    public BatchResultDTO createLoads_batch() {
+        return loadService.createLoads(batch.iterator());
+    }
+
+    // Baseline: the same loads through POST /load's service path, one transaction and INSERT each
+    @Benchmark
+    public void createLoad_oneByOne(Blackhole blackhole) {
+        for (LoadDTO loadDTO : batch) {
+            blackhole.consume(loadService.createLoad(loadDTO));
+        }
+    }
+}
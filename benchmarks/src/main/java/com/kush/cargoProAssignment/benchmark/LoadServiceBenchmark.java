@@ -0,0 +1,82 @@
+package com.kush.cargoProAssignment.benchmark;
+
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.dto.LoadDateFilterDTO;
+import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import com.kush.cargoProAssignment.service.LoadService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LoadServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    // One day of loading dates; the seeded loads load an hour apart, so 25 of the 10,000 match
+    private static final LocalDateTime WINDOW_START = LocalDateTime.of(2024, 11, 9, 10, 0);
+    private static final LocalDateTime WINDOW_END = WINDOW_START.plusDays(1);
+    private static final int FULL_PAGING_SIZE = 100;
+
+    private LoadService loadService;
+    private int page;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        loadService = application.bean(LoadService.class);
+    }
+
+    @Benchmark
+    public Page<LoadDTO> getLoads_unfiltered() {
+        return loadService.getLoads(null, null, null, null, nextPage(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<LoadDTO> getLoads_byShipper() {
+        return loadService.getLoads("SHIPPER3", null, null, null, nextPage(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<LoadDTO> getLoads_byTruckTypeAndStatus() {
+        return loadService.getLoads(null, "Container", LoadStatus.POSTED, null, nextPage(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<LoadDTO> getLoads_loadingWindow() {
+        return loadService.getLoads(null, null, LoadStatus.POSTED,
+                new LoadDateFilterDTO(WINDOW_START, WINDOW_END, null, null), 1, PAGE_SIZE);
+    }
+
+    // The same window the way clients had to find it before the date filters: page through every POSTED load
+    @Benchmark
+    public List<LoadDTO> getLoads_loadingWindowByFullPaging() {
+        List<LoadDTO> matches = new ArrayList<>();
+        Page<LoadDTO> page;
+        int number = 1;
+        do {
+            page = loadService.getLoads(null, null, LoadStatus.POSTED, null, number++, FULL_PAGING_SIZE);
+            for (LoadDTO load : page) {
+                LocalDateTime loadingDate = load.getFacility().getLoadingDate();
+                if (!loadingDate.isBefore(WINDOW_START) && !loadingDate.isAfter(WINDOW_END)) {
+                    matches.add(load);
+                }
+            }
+        } while (page.hasNext());
+        return matches;
+    }
+
+    // Walks the first 25 pages so OFFSET cost is part of the measurement
+    private int nextPage() {
+        page = page % 25 + 1;
+        return page;
+    }
+}
@@ -0,0 +1,80 @@
+package com.kush.cargoProAssignment.benchmark;
+
+import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.mapper.BookingMapper;
+import com.kush.cargoProAssignment.mapper.LoadMapper;
+import com.kush.cargoProAssignment.model.Booking;
+import com.kush.cargoProAssignment.model.Load;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the generated MapStruct mappers with the reflective ModelMapper
+ * path the services used before, for each direction the services map.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private LoadMapper loadMapper;
+    private BookingMapper bookingMapper;
+
+    private Load load;
+    private Booking booking;
+    private LoadDTO loadDTO;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        loadMapper = Mappers.getMapper(LoadMapper.class);
+        bookingMapper = Mappers.getMapper(BookingMapper.class);
+
+        load = BenchmarkFixtures.load(1);
+        booking = BenchmarkFixtures.booking(load, 1);
+        loadDTO = BenchmarkFixtures.loadDTO(1);
+
+        // Build ModelMapper's type maps outside the measurement, as a warmed-up service would have
+        modelMapper.map(load, LoadDTO.class);
+        modelMapper.map(booking, BookingDTO.class);
+        modelMapper.map(loadDTO, Load.class);
+    }
+
+    @Benchmark
+    public LoadDTO loadToDto_modelMapper() {
+        return modelMapper.map(load, LoadDTO.class);
+    }
+
+    @Benchmark
+    public LoadDTO loadToDto_mapStruct() {
+        return loadMapper.toDto(load);
+    }
+
+    @Benchmark
+    public Load loadToEntity_modelMapper() {
+        return modelMapper.map(loadDTO, Load.class);
+    }
+
+    @Benchmark
+    public Load loadToEntity_mapStruct() {
+        return loadMapper.toEntity(loadDTO);
+    }
+
+    @Benchmark
+    public BookingDTO bookingToDto_modelMapper() {
+        return modelMapper.map(booking, BookingDTO.class);
+    }
+
+    @Benchmark
+    public BookingDTO bookingToDto_mapStruct() {
+        return bookingMapper.toDto(booking);
+    }
+}
@@ -0,0 +1,81 @@
+package com.kush.cargoProAssignment.benchmark;
+
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.repository.OutboxEventRepository;
+import com.kush.cargoProAssignment.service.LoadService;
+import com.kush.cargoProAssignment.service.OutboxRelay;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * One relay run draining {@link #EVENTS} outbox events to the NDJSON file sink, in batches of
+ * {@code outbox.relay.batch-size}. EVENTS / score is the relay's throughput; the scheduled relay is
+ * pushed out of the way so each invocation starts from a full outbox.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutboxRelayBenchmark {
+
+    static final int EVENTS = 10_000;
+    static final int BATCH_SIZE = 500;
+
+    private Path sinkFile;
+    private ConfigurableApplicationContext context;
+    private LoadService loadService;
+    private OutboxRelay outboxRelay;
+    private OutboxEventRepository outboxEventRepository;
+    private List<LoadDTO> batch;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        sinkFile = Files.createTempFile("outbox", ".ndjson");
+        context = ApplicationState.boot(WebApplicationType.NONE,
+                "--outbox.file-sink.path=" + sinkFile,
+                "--outbox.relay.interval=1h",
+                "--outbox.relay.batch-size=" + BATCH_SIZE,
+                "--outbox.relay.max-batches-per-run=" + EVENTS / BATCH_SIZE);
+        loadService = context.getBean(LoadService.class);
+        outboxRelay = context.getBean(OutboxRelay.class);
+        outboxEventRepository = context.getBean(OutboxEventRepository.class);
+        batch = IntStream.range(0, 1000).mapToObj(BenchmarkFixtures::loadDTO).toList();
+    }
+
+    // Every created load leaves one outbox event
+    @Setup(Level.Invocation)
+    public void fillOutbox() throws IOException {
+        Files.write(sinkFile, new byte[0]);
+        for (int i = 0; i < EVENTS / batch.size(); i++) {
+            loadService.createLoads(batch.iterator());
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void checkDrained() {
+        if (outboxEventRepository.count() != 0) {
+            throw new IllegalStateException("Relay left " + outboxEventRepository.count() + " events");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        Files.deleteIfExists(sinkFile);
+    }
+
+    @Benchmark
+    public void relay_10kEvents() {
+        outboxRelay.relay();
+    }
+}
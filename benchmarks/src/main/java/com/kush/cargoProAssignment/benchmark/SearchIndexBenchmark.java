@@ -0,0 +1,80 @@
+package com.kush.cargoProAssignment.benchmark;
+
+import com.kush.cargoProAssignment.model.Load;
+import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import com.kush.cargoProAssignment.service.LoadSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First-page GET /load/search queries on {@link LoadSearchIndex} holding 200,000 loads with
+ * product types, cities and comments drawn from small vocabularies, so common terms match
+ * tens of thousands of loads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SearchIndexBenchmark {
+
+    private static final int LOADS = 200_000;
+    private static final int PAGE_SIZE = 10;
+
+    private static final String[] PRODUCT_TYPES = {"Electronics", "Electrical Fittings", "Furniture", "Steel Coils",
+            "Cement", "Textiles", "Pharmaceuticals", "Frozen Food", "Automobile Parts", "Fertilizer"};
+    private static final String[] CITIES = {"Delhi", "Mumbai", "Bengaluru", "Chennai", "Kolkata", "Hyderabad",
+            "Pune", "Ahmedabad", "Jaipur", "Lucknow", "Surat", "Nagpur", "Indore", "Bhopal", "Ludhiana", "Kochi"};
+    private static final String[] COMMENT_WORDS = {"fragile", "handle", "with", "care", "urgent", "delivery",
+            "keep", "dry", "upright", "stackable", "refrigerated", "hazardous", "insured", "palletised", "heavy",
+            "oversized", "night", "unloading", "crane", "required", "loading", "dock", "available", "weekend"};
+
+    private LoadSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new LoadSearchIndex();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < LOADS; i++) {
+            Load load = BenchmarkFixtures.load(i);
+            load.setId(UUID.randomUUID());
+            load.setVersion(0L);
+            load.setProductType(PRODUCT_TYPES[random.nextInt(PRODUCT_TYPES.length)]);
+            load.getFacility().setLoadingPoint(CITIES[random.nextInt(CITIES.length)]);
+            load.getFacility().setUnloadingPoint(CITIES[random.nextInt(CITIES.length)]);
+            StringBuilder comment = new StringBuilder();
+            for (int word = 0; word < 6; word++) {
+                comment.append(COMMENT_WORDS[random.nextInt(COMMENT_WORDS.length)]).append(' ');
+            }
+            load.setComment(comment.toString());
+            load.setStatus(i % 4 == 0 ? LoadStatus.BOOKED : LoadStatus.POSTED);
+            index.put(load);
+        }
+    }
+
+    // ~20,000 matches
+    @Benchmark
+    public LoadSearchIndex.Hits search_commonTerm() {
+        return index.search("electronics", null, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public LoadSearchIndex.Hits search_twoTermsPosted() {
+        return index.search("cement mumbai", LoadStatus.POSTED, 0, PAGE_SIZE);
+    }
+
+    // Expands to "electronics" and "electrical"
+    @Benchmark
+    public LoadSearchIndex.Hits search_prefix() {
+        return index.search("elec", null, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public LoadSearchIndex.Hits search_typo() {
+        return index.search("frozen mumbia", null, 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,67 @@
+package com.kush.cargoProAssignment.benchmark;
+
+import com.kush.cargoProAssignment.service.LoadSpatialIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Radius searches on {@link LoadSpatialIndex} holding a million posted loads, spread over India
+ * with a third of them around five metro hubs, the way GET /load/nearby runs them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SpatialIndexBenchmark {
+
+    private static final int LOADS = 1_000_000;
+    private static final String[] TRUCK_TYPES = {"Container", "Flatbed", "Trailer", "Tanker"};
+    private static final double[][] HUBS = {
+            {28.61, 77.21}, {19.07, 72.88}, {12.97, 77.59}, {13.08, 80.27}, {22.57, 88.36}};
+
+    private LoadSpatialIndex index;
+    private LocalDateTime now;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        index = new LoadSpatialIndex();
+        now = LocalDateTime.now();
+        random = new SplittableRandom(42);
+        for (int i = 0; i < LOADS; i++) {
+            double latitude;
+            double longitude;
+            if (i % 3 == 0) {
+                double[] hub = HUBS[i % HUBS.length];
+                latitude = hub[0] + random.nextDouble(-0.5, 0.5);
+                longitude = hub[1] + random.nextDouble(-0.5, 0.5);
+            } else {
+                latitude = random.nextDouble(8, 35);
+                longitude = random.nextDouble(68, 97);
+            }
+            index.put(new LoadSpatialIndex.Entry(UUID.randomUUID(), 0, latitude, longitude, null, null,
+                    TRUCK_TYPES[i % TRUCK_TYPES.length], now.plusHours(random.nextInt(24 * 14))));
+        }
+    }
+
+    // "POSTED Containers within 50 km of a metro, loading in the next 48h" - the densest cells
+    @Benchmark
+    public List<LoadSpatialIndex.Match> nearby_hub50km() {
+        double[] hub = HUBS[random.nextInt(HUBS.length)];
+        LocalDateTime until = now.plusHours(48);
+        return index.search(hub[0], hub[1], 50,
+                entry -> "Container".equals(entry.truckType()) && entry.loadingDate().isBefore(until), 20);
+    }
+
+    @Benchmark
+    public List<LoadSpatialIndex.Match> nearby_random200km() {
+        return index.search(random.nextDouble(8, 35), random.nextDouble(68, 97), 200, entry -> true, 20);
+    }
+}
@@ -0,0 +1,49 @@
+package com.kush.cargoProAssignment.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // LoadDTO by load id (GET /load/{id})
+    public static final String LOADS = "loads";
+
+    // BookingDTO by booking id (GET /booking/{id})
+    public static final String BOOKINGS = "bookings";
+
+    // GET /analytics/*; not evicted on writes, so summaries may lag by up to the TTL
+    public static final String ANALYTICS = "analytics";
+
+    // A miss that takes longer than this to load is not cached; see LeasedCaffeineCache
+    static final Duration LEASE_TIMEOUT = Duration.ofSeconds(10);
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${spring.cache.caffeine.spec:maximumSize=10000,expireAfterWrite=60s,recordStats}") String spec) {
+        // Fixed cache names, so a typo in a cache annotation fails instead of silently creating a new cache
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(LOADS, BOOKINGS, ANALYTICS) {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                // The entity caches must never keep a DTO read before a write that has since committed
+                return Set.of(LOADS, BOOKINGS).contains(name)
+                        ? new LeasedCaffeineCache(name, cache, isAllowNullValues(), LEASE_TIMEOUT)
+                        : super.adaptCaffeineCache(name, cache);
+            }
+        };
+        cacheManager.setCaffeineSpec(CaffeineSpec.parse(spec));
+        // Puts and evictions issued inside a transaction are applied only after it commits
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,53 @@
+package com.kush.cargoProAssignment.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Adds a {@code filters} tag to {@code http.server.requests}: which filter parameters a list request
+ * used, e.g. {@code shipperId+status}, so filter combinations can be compared. Only parameter names are
+ * recorded, never values, which keeps the tag at a handful of values. Other requests get {@code none}.
+ */
+@Component
+public class FilterTaggingRequestObservationConvention extends DefaultServerRequestObservationConvention {
+
+    static final String FILTERS = "filters";
+
+    private static final String NONE = "none";
+
+    private static final Map<String, List<String>> LIST_FILTERS = Map.of(
+            "/load", List.of("shipperId", "truckType", "status", "loadingFrom", "loadingTo",
+                    "unloadingFrom", "unloadingTo", "cursor"),
+            "/booking", List.of("loadId", "transporterId", "status"));
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(KeyValue.of(FILTERS, filters(context)));
+    }
+
+    private static String filters(ServerRequestObservationContext context) {
+        HttpServletRequest request = context.getCarrier();
+        // The path pattern is only known once the request has been mapped, i.e. not yet when it starts
+        List<String> names = context.getPathPattern() != null ? LIST_FILTERS.get(context.getPathPattern()) : null;
+        if (names == null || request == null || !"GET".equals(request.getMethod())) {
+            return NONE;
+        }
+        StringJoiner used = new StringJoiner("+");
+        for (String name : names) {
+            // An empty cursor still selects cursor mode
+            if (name.equals("cursor") ? request.getParameter(name) != null : StringUtils.hasText(request.getParameter(name))) {
+                used.add(name);
+            }
+        }
+        return used.length() == 0 ? NONE : used.toString();
+    }
+}
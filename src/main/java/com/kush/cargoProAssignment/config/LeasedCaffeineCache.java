@@ -0,0 +1,86 @@
+package com.kush.cargoProAssignment.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+
+/**
+ * A Caffeine cache whose puts cannot land after an eviction of the same key.
+ * <p>
+ * A miss gives the calling thread a lease on the key and an eviction revokes every lease on it, so the put that
+ * follows the miss is stored only if nothing was evicted in between. Without this, a reader that loaded a row
+ * just before a write committed would cache the old DTO after the write's after-commit eviction, for the full TTL.
+ * Puts with no lease (a different key, or a lease that expired because the read was slow) are dropped.
+ */
+class LeasedCaffeineCache extends CaffeineCache {
+
+    private final Cache<Object, Object> leases;
+
+    private final ThreadLocal<Lease> lease = new ThreadLocal<>();
+
+    LeasedCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues, Duration leaseTimeout) {
+        super(name, cache, allowNullValues);
+        this.leases = Caffeine.newBuilder().expireAfterWrite(leaseTimeout).build();
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (value == null) {
+            // Concurrent misses share one token; an eviction replaces it for the misses that come after
+            lease.set(new Lease(key, leases.get(key, k -> new Object())));
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Lease held = lease.get();
+        lease.remove();
+        if (held == null || !held.key().equals(key)) {
+            return;
+        }
+        // Checked and stored under the lease's map entry, so an eviction cannot slip in between
+        leases.asMap().computeIfPresent(key, (k, token) -> {
+            if (token == held.token()) {
+                super.put(k, value);
+            }
+            return token;
+        });
+    }
+
+    @Override
+    public void evict(Object key) {
+        leases.asMap().compute(key, (k, token) -> {
+            super.evict(k);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean[] present = new boolean[1];
+        leases.asMap().compute(key, (k, token) -> {
+            present[0] = super.evictIfPresent(k);
+            return null;
+        });
+        return present[0];
+    }
+
+    @Override
+    public void clear() {
+        leases.invalidateAll();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        leases.invalidateAll();
+        return super.invalidate();
+    }
+
+    private record Lease(Object key, Object token) {
+    }
+}
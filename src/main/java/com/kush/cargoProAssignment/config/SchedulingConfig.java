@@ -0,0 +1,10 @@
+package com.kush.cargoProAssignment.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Runs the @Scheduled background tasks, e.g. the GET /load/feed heartbeats
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
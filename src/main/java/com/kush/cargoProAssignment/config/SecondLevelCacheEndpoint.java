@@ -0,0 +1,50 @@
+package com.kush.cargoProAssignment.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@code GET /actuator/l2cache}: hit ratio per Hibernate second-level cache region (entity, query and
+ * timestamp regions), counted since startup. Needs {@code hibernate.generate_statistics}.
+ */
+@Component
+@Endpoint(id = "l2cache")
+@RequiredArgsConstructor
+public class SecondLevelCacheEndpoint {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @ReadOperation
+    public Map<String, RegionStatistics> regions() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Statistics statistics = sessionFactory.getStatistics();
+
+        Map<String, RegionStatistics> regions = new TreeMap<>();
+        for (String region : sessionFactory.getCache().getCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats != null) {
+                regions.put(region, RegionStatistics.of(stats));
+            }
+        }
+        return regions;
+    }
+
+    public record RegionStatistics(long hits, long misses, long puts, long elementsInMemory, double hitRatio) {
+
+        static RegionStatistics of(CacheRegionStatistics stats) {
+            long lookups = stats.getHitCount() + stats.getMissCount();
+            double hitRatio = lookups == 0 ? 0.0 : (double) stats.getHitCount() / lookups;
+            return new RegionStatistics(stats.getHitCount(), stats.getMissCount(), stats.getPutCount(),
+                    stats.getElementCountInMemory(), hitRatio);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.kush.cargoProAssignment.controllers;
+
+import com.kush.cargoProAssignment.dto.LoadRateSummaryDTO;
+import com.kush.cargoProAssignment.dto.LoadSummaryDTO;
+import com.kush.cargoProAssignment.service.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/analytics")
+@Tag(name = "Analytics", description = "Load and bid summaries computed in the database")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/loads/by-shipper")
+    @Operation(summary = "Load counts per status, total weight and total trucks for each shipper")
+    public ResponseEntity<List<LoadSummaryDTO>> getLoadSummaryByShipper() {
+        return ResponseEntity.ok(analyticsService.getLoadSummaryByShipper());
+    }
+
+    @GetMapping("/loads/by-truck-type")
+    @Operation(summary = "Load counts per status, total weight and total trucks for each truck type")
+    public ResponseEntity<List<LoadSummaryDTO>> getLoadSummaryByTruckType() {
+        return ResponseEntity.ok(analyticsService.getLoadSummaryByTruckType());
+    }
+
+    @GetMapping("/rates")
+    @Operation(summary = "Booking count, average and minimum proposed rate per load")
+    public ResponseEntity<Page<LoadRateSummaryDTO>> getRateSummaryByLoad(
+            @RequestParam(required = false) String shipperId,
+            @RequestParam(required = false) String truckType,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "100") int size) {
+
+        return ResponseEntity.ok(analyticsService.getRateSummaryByLoad(shipperId, truckType, page, size));
+    }
+}
@@ -1,6 +1,10 @@
 package com.kush.cargoProAssignment.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.kush.cargoProAssignment.dto.BookingAwardDTO;
 import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.dto.EntityVersionDTO;
 import com.kush.cargoProAssignment.model.enums.BookingStatus;
 import com.kush.cargoProAssignment.service.BookingService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -8,11 +12,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.UUID;
 
 @RestController
@@ -23,6 +33,8 @@ public class BookingController {
 
     private final BookingService bookingService;
 
+    private final ObjectMapper objectMapper;
+
     @PostMapping
     @Operation(summary = "Create a new booking")
     public ResponseEntity<BookingDTO> createBooking(@Valid @RequestBody BookingDTO bookingDTO) {
@@ -31,28 +43,78 @@ public class BookingController {
     }
 
     @GetMapping
-    @Operation(summary = "Get bookings with filters")
-    public ResponseEntity<List<BookingDTO>> getBookings(
+    @Operation(summary = "Get bookings with filters and pagination")
+    public ResponseEntity<Page<BookingDTO>> getBookings(
+            @RequestParam(required = false) UUID loadId,
+            @RequestParam(required = false) String transporterId,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+
+        // Revalidation is answered from the page's ids and versions, without selecting, mapping or serializing it
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null && request.checkNotModified(ETags.ofPage(
+                bookingService.getBookingVersions(loadId, transporterId, status, page, size),
+                EntityVersionDTO::getId, EntityVersionDTO::getVersion))) {
+            return null;
+        }
+        Page<BookingDTO> bookings = bookingService.getBookings(loadId, transporterId, status, page, size);
+        return ResponseEntity.ok().eTag(ETags.ofPage(bookings, BookingDTO::getId, BookingDTO::getVersion))
+                .body(bookings);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all bookings matching the filters as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamBookings(
             @RequestParam(required = false) UUID loadId,
             @RequestParam(required = false) String transporterId,
             @RequestParam(required = false) BookingStatus status) {
 
-        List<BookingDTO> bookings = bookingService.getBookings(loadId, transporterId, status);
-        return ResponseEntity.ok(bookings);
+        ObjectWriter writer = objectMapper.writerFor(BookingDTO.class);
+        StreamingResponseBody body = outputStream -> bookingService.streamBookings(loadId, transporterId, status,
+                booking -> {
+                    try {
+                        outputStream.write(writer.writeValueAsBytes(booking));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{bookingId}")
     @Operation(summary = "Get booking by ID")
-    public ResponseEntity<BookingDTO> getBookingById(@PathVariable UUID bookingId) {
+    public ResponseEntity<BookingDTO> getBookingById(@PathVariable UUID bookingId, WebRequest request) {
+        // Revalidation is answered from the version alone, without mapping or serializing the booking
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(ETags.of(bookingService.getBookingVersion(bookingId)))) {
+            return null;
+        }
         BookingDTO booking = bookingService.getBookingById(bookingId);
-        return ResponseEntity.ok(booking);
+        return ResponseEntity.ok().eTag(ETags.of(booking.getVersion())).body(booking);
     }
 
     @PutMapping("/{bookingId}")
-    @Operation(summary = "Update booking details")
-    public ResponseEntity<BookingDTO> updateBooking(@PathVariable UUID bookingId, @Valid @RequestBody BookingDTO bookingDTO) {
-        BookingDTO updatedBooking = bookingService.updateBooking(bookingId, bookingDTO);
-        return ResponseEntity.ok(updatedBooking);
+    @Operation(summary = "Update booking details; with If-Match, only if the booking is still at that ETag (else 412)")
+    public ResponseEntity<BookingDTO> updateBooking(@PathVariable UUID bookingId, @Valid @RequestBody BookingDTO bookingDTO,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        BookingDTO updatedBooking = bookingService.updateBooking(bookingId, bookingDTO, ETags.requiredVersions(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedBooking.getVersion())).body(updatedBooking);
+    }
+
+    @PutMapping("/{bookingId}/accept")
+    @Operation(summary = "Accept a booking; fails with 409 if the load already has an accepted booking")
+    public ResponseEntity<BookingDTO> acceptBooking(@PathVariable UUID bookingId) {
+        BookingDTO acceptedBooking = bookingService.acceptBooking(bookingId);
+        return ResponseEntity.ok().eTag(ETags.of(acceptedBooking.getVersion())).body(acceptedBooking);
+    }
+
+    @PutMapping("/{bookingId}/award")
+    @Operation(summary = "Accept a booking and reject every other pending booking of its load in one transaction")
+    public ResponseEntity<BookingAwardDTO> awardBooking(@PathVariable UUID bookingId) {
+        BookingAwardDTO award = bookingService.awardBooking(bookingId);
+        return ResponseEntity.ok().eTag(ETags.of(award.getBooking().getVersion())).body(award);
     }
 
     @DeleteMapping("/{bookingId}")
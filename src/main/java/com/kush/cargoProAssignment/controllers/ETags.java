@@ -0,0 +1,65 @@
+package com.kush.cargoProAssignment.controllers;
+
+import com.kush.cargoProAssignment.exceptions.PreconditionFailedException;
+
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Strong ETags derived from an entity's {@code @Version} column, e.g. {@code "3"}, and for list pages from the
+ * versions of the rows on the page.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * An ETag for a page of rows: a hash of the total and of each row's id and version, in page order. Every write
+     * bumps the version, so it changes exactly when the page's body would, and can be computed from the ids and
+     * versions alone.
+     */
+    static <T> String ofPage(Page<T> page, Function<T, UUID> id, Function<T, Long> version) {
+        StringBuilder rows = new StringBuilder().append(page.getTotalElements());
+        for (T row : page.getContent()) {
+            rows.append(',').append(id.apply(row)).append(':').append(version.apply(row));
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(rows.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * The versions an {@code If-Match} header accepts, or {@code null} when there is no precondition
+     * (header absent or {@code *}). The header may list several ETags and matches if any of them is the
+     * current version (RFC 9110); weak and malformed ones never match, so a header with none left fails.
+     */
+    static Set<Long> requiredVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new LinkedHashSet<>();
+        for (String part : ifMatch.split(",")) {
+            String etag = part.strip();
+            if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+                try {
+                    versions.add(Long.parseLong(etag.substring(1, etag.length() - 1)));
+                } catch (NumberFormatException ignored) {
+                    // not one of ours, so it cannot match
+                }
+            }
+        }
+        if (versions.isEmpty()) {
+            throw new PreconditionFailedException("If-Match does not match the current version: " + ifMatch.strip());
+        }
+        return versions;
+    }
+}
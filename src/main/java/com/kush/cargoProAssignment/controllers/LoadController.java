@@ -1,7 +1,21 @@
 package com.kush.cargoProAssignment.controllers;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.kush.cargoProAssignment.dto.BatchResultDTO;
+import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.dto.CursorPageDTO;
+import com.kush.cargoProAssignment.dto.EntityVersionDTO;
 import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.dto.LoadDateFilterDTO;
+import com.kush.cargoProAssignment.dto.NearbyLoadDTO;
+import com.kush.cargoProAssignment.dto.NearbySearchDTO;
+import com.kush.cargoProAssignment.exceptions.BusinessException;
 import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import com.kush.cargoProAssignment.service.BookingService;
+import com.kush.cargoProAssignment.service.LoadFeedBroadcaster;
 import com.kush.cargoProAssignment.service.LoadService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,10 +23,17 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -23,6 +44,12 @@ public class LoadController {
 
     private final LoadService loadService;
 
+    private final BookingService bookingService;
+
+    private final LoadFeedBroadcaster loadFeed;
+
+    private final ObjectMapper objectMapper;
+
     @PostMapping
     @Operation(summary = "Create a new load")
     public ResponseEntity<LoadDTO> createLoad(@Valid @RequestBody LoadDTO loadDTO) {
@@ -30,31 +57,105 @@ public class LoadController {
         return new ResponseEntity<>(createdLoad, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Create loads in bulk from a JSON array or an NDJSON stream")
+    public ResponseEntity<BatchResultDTO> createLoads(InputStream body) throws IOException {
+        // readValues accepts both a top-level array and a sequence of root-level documents
+        try (MappingIterator<LoadDTO> loads = objectMapper.readerFor(LoadDTO.class).readValues(body)) {
+            return ResponseEntity.ok(loadService.createLoads(loads));
+        } catch (RuntimeJsonMappingException e) {
+            throw new BusinessException("Malformed load batch: " + e.getMessage());
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof JsonProcessingException cause) {
+                throw new BusinessException("Malformed load batch: " + cause.getOriginalMessage());
+            }
+            throw e;
+        }
+    }
+
     @GetMapping
     @Operation(summary = "Get loads with filters and pagination")
     public ResponseEntity<Page<LoadDTO>> getLoads(
             @RequestParam(required = false) String shipperId,
             @RequestParam(required = false) String truckType,
             @RequestParam(required = false) LoadStatus status,
+            LoadDateFilterDTO dates,
             @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+
+        // Revalidation is answered from the page's ids and versions, without selecting, mapping or serializing it
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null && request.checkNotModified(ETags.ofPage(
+                loadService.getLoadVersions(shipperId, truckType, status, dates, page, size),
+                EntityVersionDTO::getId, EntityVersionDTO::getVersion))) {
+            return null;
+        }
+        Page<LoadDTO> loads = loadService.getLoads(shipperId, truckType, status, dates, page, size);
+        return ResponseEntity.ok().eTag(ETags.ofPage(loads, LoadDTO::getId, LoadDTO::getVersion)).body(loads);
+    }
+
+    // Selected instead of page mode whenever a cursor parameter is present; send it empty for the first page
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Get loads with filters using cursor pagination")
+    public ResponseEntity<CursorPageDTO<LoadDTO>> getLoadsByCursor(
+            @RequestParam(required = false) String shipperId,
+            @RequestParam(required = false) String truckType,
+            @RequestParam(required = false) LoadStatus status,
+            LoadDateFilterDTO dates,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size) {
 
-        Page<LoadDTO> loads = loadService.getLoads(shipperId, truckType, status, page, size);
+        CursorPageDTO<LoadDTO> loads = loadService.getLoadsByCursor(shipperId, truckType, status, dates, cursor, size);
         return ResponseEntity.ok(loads);
     }
 
+    @GetMapping(value = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to committed load changes as server-sent events, optionally for one truck type")
+    public SseEmitter subscribe(@RequestParam(required = false) String truckType) {
+        return loadFeed.subscribe(truckType);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Full-text search over product type, loading/unloading points and comment, best match first")
+    public ResponseEntity<Page<LoadDTO>> searchLoads(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) LoadStatus status,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(loadService.searchLoads(q, status, page, size));
+    }
+
+    @GetMapping("/nearby")
+    @Operation(summary = "Find POSTED loads whose loading point is within radiusKm of a point, nearest first")
+    public ResponseEntity<List<NearbyLoadDTO>> findNearby(NearbySearchDTO search) {
+        return ResponseEntity.ok(loadService.findNearby(search));
+    }
+
     @GetMapping("/{loadId}")
     @Operation(summary = "Get load by ID")
-    public ResponseEntity<LoadDTO> getLoadById(@PathVariable UUID loadId) {
+    public ResponseEntity<LoadDTO> getLoadById(@PathVariable UUID loadId, WebRequest request) {
+        // Revalidation is answered from the version alone, without mapping or serializing the load
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(ETags.of(loadService.getLoadVersion(loadId)))) {
+            return null;
+        }
         LoadDTO load = loadService.getLoadById(loadId);
-        return ResponseEntity.ok(load);
+        return ResponseEntity.ok().eTag(ETags.of(load.getVersion())).body(load);
+    }
+
+    @GetMapping("/{loadId}/bids/top")
+    @Operation(summary = "Get the n lowest-rate pending bookings for a load, cheapest first")
+    public ResponseEntity<List<BookingDTO>> getTopBids(@PathVariable UUID loadId,
+                                                       @RequestParam(defaultValue = "10") int n) {
+        return ResponseEntity.ok(bookingService.getTopBids(loadId, n));
     }
 
     @PutMapping("/{loadId}")
-    @Operation(summary = "Update load details")
-    public ResponseEntity<LoadDTO> updateLoad(@PathVariable UUID loadId, @Valid @RequestBody LoadDTO loadDTO) {
-        LoadDTO updatedLoad = loadService.updateLoad(loadId, loadDTO);
-        return ResponseEntity.ok(updatedLoad);
+    @Operation(summary = "Update load details; with If-Match, only if the load is still at that ETag (else 412)")
+    public ResponseEntity<LoadDTO> updateLoad(@PathVariable UUID loadId, @Valid @RequestBody LoadDTO loadDTO,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        LoadDTO updatedLoad = loadService.updateLoad(loadId, loadDTO, ETags.requiredVersions(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedLoad.getVersion())).body(updatedLoad);
     }
 
     @DeleteMapping("/{loadId}")
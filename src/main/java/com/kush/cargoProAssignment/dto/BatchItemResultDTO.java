@@ -0,0 +1,23 @@
+package com.kush.cargoProAssignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResultDTO {
+    // Position of the item in the submitted array or NDJSON stream, starting at 0
+    private int index;
+    private boolean created;
+
+    // Set when created
+    private UUID id;
+
+    // Field -> message, set when the item failed validation
+    private Map<String, String> errors;
+}
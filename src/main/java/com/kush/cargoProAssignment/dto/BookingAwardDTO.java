@@ -0,0 +1,15 @@
+package com.kush.cargoProAssignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingAwardDTO {
+    private BookingDTO booking;
+    // 0 when the booking was already accepted
+    private int accepted;
+    private int rejected;
+}
@@ -4,11 +4,16 @@ import com.kush.cargoProAssignment.model.enums.BookingStatus;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
+@NoArgsConstructor
+// Also the constructor projection behind GET /booking, in column order
+@AllArgsConstructor
 public class BookingDTO {
     private UUID id;
 
@@ -25,4 +30,7 @@ public class BookingDTO {
     private String comment;
     private BookingStatus status;
     private LocalDateTime requestedAt;
-}
\ No newline at end of file
+
+    // Read-only; also sent as the ETag
+    private Long version;
+}
@@ -0,0 +1,19 @@
+package com.kush.cargoProAssignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+
+    // Opaque token for the next page; null on the last page
+    private String nextCursor;
+}
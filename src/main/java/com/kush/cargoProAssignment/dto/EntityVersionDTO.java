@@ -0,0 +1,16 @@
+package com.kush.cargoProAssignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// The identity and version of one row of a list page, enough to tell whether the page changed
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntityVersionDTO {
+    private UUID id;
+    private Long version;
+}
@@ -6,10 +6,12 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
+@NoArgsConstructor
 public class LoadDTO {
     private UUID id;
 
@@ -37,4 +39,27 @@ public class LoadDTO {
     private String comment;
     private LocalDateTime datePosted;
     private LoadStatus status;
+
+    // Read-only; also sent as the ETag
+    private Long version;
+
+    // Constructor projection behind GET /load: one flat row, facility columns included
+    public LoadDTO(UUID id, String shipperId, String loadingPoint, String unloadingPoint,
+                   LocalDateTime loadingDate, LocalDateTime unloadingDate,
+                   Double loadingLatitude, Double loadingLongitude, Double unloadingLatitude, Double unloadingLongitude,
+                   String productType, String truckType, Integer noOfTrucks, Double weight, String comment,
+                   LocalDateTime datePosted, LoadStatus status, Long version) {
+        this.id = id;
+        this.shipperId = shipperId;
+        this.facility = new FacilityDTO(loadingPoint, unloadingPoint, loadingDate, unloadingDate,
+                loadingLatitude, loadingLongitude, unloadingLatitude, unloadingLongitude);
+        this.productType = productType;
+        this.truckType = truckType;
+        this.noOfTrucks = noOfTrucks;
+        this.weight = weight;
+        this.comment = comment;
+        this.datePosted = datePosted;
+        this.status = status;
+        this.version = version;
+    }
 }
@@ -0,0 +1,18 @@
+package com.kush.cargoProAssignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// One row of GET /analytics/rates: the bids on a single load
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadRateSummaryDTO {
+    private UUID loadId;
+    private Long bookings;
+    private Double averageRate;
+    private Double minRate;
+}
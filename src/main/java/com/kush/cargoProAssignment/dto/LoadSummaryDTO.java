@@ -0,0 +1,19 @@
+package com.kush.cargoProAssignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One row of GET /analytics/loads: totals for all loads sharing a shipper or truck type
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadSummaryDTO {
+    private String key;
+    private Long totalLoads;
+    private Long postedLoads;
+    private Long bookedLoads;
+    private Long cancelledLoads;
+    private Double totalWeight;
+    private Long totalTrucks;
+}
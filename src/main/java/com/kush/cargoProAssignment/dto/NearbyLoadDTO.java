@@ -0,0 +1,16 @@
+package com.kush.cargoProAssignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One result of GET /load/nearby, nearest first
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyLoadDTO {
+    private LoadDTO load;
+
+    // Great-circle distance from the searched point to the loading point
+    private double distanceKm;
+}
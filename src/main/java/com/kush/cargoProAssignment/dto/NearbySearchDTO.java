@@ -0,0 +1,23 @@
+package com.kush.cargoProAssignment.dto;
+
+import lombok.Data;
+
+// Query parameters of GET /load/nearby; ranges are checked by LoadService.findNearby
+@Data
+public class NearbySearchDTO {
+    private Double latitude;
+    private Double longitude;
+    private double radiusKm = 50;
+
+    private String truckType;
+
+    // Only loads whose loading date is between now and now + this many hours
+    private Integer loadingWithinHours;
+
+    // Optional route filter: the unloading point must be within destinationRadiusKm of this point
+    private Double destinationLatitude;
+    private Double destinationLongitude;
+    private double destinationRadiusKm = 50;
+
+    private int limit = 20;
+}
@@ -0,0 +1,19 @@
+package com.kush.cargoProAssignment.mapper;
+
+import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.model.Booking;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface BookingMapper {
+
+    // loadId comes from Booking's read-only column, so the lazy load is left alone
+    BookingDTO toDto(Booking booking);
+
+    // The load is resolved by the service from BookingDTO.loadId
+    @Mapping(target = "load", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Booking toEntity(BookingDTO bookingDTO);
+}
@@ -0,0 +1,23 @@
+package com.kush.cargoProAssignment.mapper;
+
+import com.kush.cargoProAssignment.dto.FacilityDTO;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.model.Facility;
+import com.kush.cargoProAssignment.model.Load;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface LoadMapper {
+
+    LoadDTO toDto(Load load);
+
+    @Mapping(target = "bookings", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Load toEntity(LoadDTO loadDTO);
+
+    FacilityDTO toDto(Facility facility);
+
+    Facility toEntity(FacilityDTO facilityDTO);
+}
@@ -6,13 +6,21 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "bookings")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "booking-entities")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_load_status", columnList = "load_id, status"),
+        @Index(name = "idx_bookings_transporter_status", columnList = "transporter_id, status"),
+        @Index(name = "idx_bookings_load_rate", columnList = "load_id, proposed_rate")
+})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -27,6 +35,11 @@ public class Booking {
     @NotNull(message = "Load is required")
     private Load load;
 
+    // The same column, read-only: mapping and filtering by load id never touch the lazy proxy
+    @Column(name = "load_id", insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    private UUID loadId;
+
     @NotBlank(message = "Transporter ID is required")
     @Column(name = "transporter_id", nullable = false)
     private String transporterId;
@@ -42,8 +55,16 @@ public class Booking {
     @Column(nullable = false)
     private BookingStatus status = BookingStatus.PENDING;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "requested_at", nullable = false, updatable = false)
     private LocalDateTime requestedAt;
 
+    public void setLoad(Load load) {
+        this.load = load;
+        this.loadId = load != null ? load.getId() : null;
+    }
 }
\ No newline at end of file
@@ -29,4 +29,21 @@ public class Facility {
     @NotNull(message = "Unloading date is required")
     @Column(name = "unloading_date", nullable = false)
     private LocalDateTime unloadingDate;
+
+    // Optional; loads with loading coordinates can be found by GET /load/nearby
+    @Column(name = "loading_latitude")
+    private Double loadingLatitude;
+
+    @Column(name = "loading_longitude")
+    private Double loadingLongitude;
+
+    @Column(name = "unloading_latitude")
+    private Double unloadingLatitude;
+
+    @Column(name = "unloading_longitude")
+    private Double unloadingLongitude;
+
+    public Facility(String loadingPoint, String unloadingPoint, LocalDateTime loadingDate, LocalDateTime unloadingDate) {
+        this(loadingPoint, unloadingPoint, loadingDate, unloadingDate, null, null, null, null);
+    }
 }
\ No newline at end of file
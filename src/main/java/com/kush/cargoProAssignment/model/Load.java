@@ -6,7 +6,10 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -17,7 +20,15 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "loads")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "load-entities")
+@DynamicUpdate
+@Table(name = "loads", indexes = {
+        @Index(name = "idx_loads_shipper_status", columnList = "shipper_id, status, date_posted DESC, id DESC"),
+        @Index(name = "idx_loads_truck_type_status", columnList = "truck_type, status, date_posted DESC, id DESC"),
+        @Index(name = "idx_loads_date_posted_id", columnList = "date_posted DESC, id DESC"),
+        @Index(name = "idx_loads_status_loading_date", columnList = "status, loading_date")
+})
 public class Load {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -58,6 +69,10 @@ public class Load {
     @Column(nullable = false)
     private LoadStatus status = LoadStatus.POSTED;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "load", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Booking> bookings;
 }
@@ -0,0 +1,40 @@
+package com.kush.cargoProAssignment.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * How many bookings of a load are in each status, kept by {@code BookingService} with relative
+ * increments in the transaction that changes a booking. A separate table rather than columns on
+ * {@code loads}, so counting a bid neither bumps the load's version nor evicts it from the
+ * second-level cache. Concurrent bids on one load never fail or retry over this row, but they do
+ * serialize on it: each holds the row lock from its increment until it commits, which is why the
+ * increment is the last booking write of a transaction (see {@code LoadBookingCountsRepositoryCustom}).
+ */
+@Entity
+@Table(name = "load_booking_counts")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoadBookingCounts {
+
+    @Id
+    @Column(name = "load_id")
+    private UUID loadId;
+
+    @Column(nullable = false)
+    private long pending;
+
+    @Column(nullable = false)
+    private long accepted;
+
+    @Column(nullable = false)
+    private long rejected;
+
+    public long total() {
+        return pending + accepted + rejected;
+    }
+}
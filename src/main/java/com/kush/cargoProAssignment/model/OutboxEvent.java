@@ -0,0 +1,62 @@
+package com.kush.cargoProAssignment.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A committed load or booking change waiting to be relayed, written in the transaction that made
+ * the change. Ids come from a sequence, so they follow commit order closely enough for relaying
+ * oldest first; the row is deleted once every sink has it.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxEvent {
+
+    public static final String LOAD = "Load";
+    public static final String BOOKING = "Booking";
+
+    public static final String SAVED = "saved";
+    public static final String DELETED = "deleted";
+    public static final String REJECTED = "rejected";
+
+    // Ids are allocated 50 at a time, so the inserts need no round trip per row and can be batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 32)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 32)
+    private String eventType;
+
+    // The LoadDTO or BookingDTO as JSON; for REJECTED only the booking's id, loadId and status
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(nullable = false)
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public OutboxEvent(String aggregateType, UUID aggregateId, String eventType, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+    }
+}
@@ -3,23 +3,45 @@ package com.kush.cargoProAssignment.repository;
 import com.kush.cargoProAssignment.model.Booking;
 import com.kush.cargoProAssignment.model.Load;
 import com.kush.cargoProAssignment.model.enums.BookingStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
-public interface BookingRepository extends JpaRepository<Booking, UUID> {
-    @Query("SELECT b FROM Booking b WHERE " +
-            "(:loadId IS NULL OR b.load.id = :loadId) AND " +
-            "(:transporterId IS NULL OR b.transporterId = :transporterId) AND " +
-            "(:status IS NULL OR b.status = :status)")
-    List<Booking> findByFilters(@Param("loadId") UUID loadId,
-                                @Param("transporterId") String transporterId,
-                                @Param("status") BookingStatus status);
+public interface BookingRepository extends JpaRepository<Booking, UUID>, JpaSpecificationExecutor<Booking>,
+        BookingRepositoryCustom {
 
-    List<Booking> findByLoad(Load load);
+    // Cheapest pending bids first. PENDING is a literal rather than a parameter so PostgreSQL can prove the
+    // partial index idx_bookings_pending_load (load_id, proposed_rate) applies, also under generic plans,
+    // and read just the first rows of that index instead of sorting every bid on the load.
+    @Query("SELECT b FROM Booking b WHERE b.load.id = :loadId "
+            + "AND b.status = com.kush.cargoProAssignment.model.enums.BookingStatus.PENDING "
+            + "ORDER BY b.proposedRate ASC, b.id ASC")
+    List<Booking> findLowestPendingBids(@Param("loadId") UUID loadId, Limit limit);
 
     boolean existsByLoadAndStatus(Load load, BookingStatus status);
+
+    // Ids only, from the partial index on pending bookings; the bookings themselves are never loaded. The rows
+    // stay locked until the transaction ends, so none of them can change or go away before they are rejected.
+    // Locked in id order, so two awards of one load wait for each other instead of deadlocking
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id FROM Booking b WHERE b.load.id = :loadId "
+            + "AND b.status = com.kush.cargoProAssignment.model.enums.BookingStatus.PENDING ORDER BY b.id")
+    List<UUID> findPendingIds(@Param("loadId") UUID loadId);
+
+    // One statement for many bookings. Bumps the versions like an entity update would, so a concurrent
+    // PUT with a stale version still fails; bookings no longer PENDING are left alone
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = com.kush.cargoProAssignment.model.enums.BookingStatus.REJECTED, "
+            + "b.version = b.version + 1 "
+            + "WHERE b.id IN :ids AND b.status = com.kush.cargoProAssignment.model.enums.BookingStatus.PENDING")
+    int rejectPending(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,36 @@
+package com.kush.cargoProAssignment.repository;
+
+import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.dto.EntityVersionDTO;
+import com.kush.cargoProAssignment.dto.LoadRateSummaryDTO;
+import com.kush.cargoProAssignment.model.Booking;
+import com.kush.cargoProAssignment.model.enums.BookingStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface BookingRepositoryCustom {
+
+    // Cursor-backed stream for exports; must be consumed inside a transaction and closed
+    Stream<Booking> streamByFilters(UUID loadId, String transporterId, BookingStatus status);
+
+    /**
+     * A page of the bookings matching {@link BookingSpecifications#withFilters}, selected straight into DTOs. Page
+     * and count results go to the booking-filter-queries query cache region, which Hibernate invalidates whenever
+     * the bookings table is written.
+     */
+    Page<BookingDTO> findDtosByFilters(UUID loadId, String transporterId, BookingStatus status, Pageable pageable);
+
+    // The ids and versions of the same page, for revalidating it without selecting the DTOs
+    Page<EntityVersionDTO> findVersionsByFilters(UUID loadId, String transporterId, BookingStatus status,
+                                                 Pageable pageable);
+
+    /**
+     * Bid count, average and minimum rate per load, one row per load in load id order. Built from only the
+     * filters that are present: loads are joined just for a shipper or truck type, so the unfiltered summary
+     * is an index-only scan of (load_id, proposed_rate).
+     */
+    Page<LoadRateSummaryDTO> summarizeRatesByLoad(String shipperId, String truckType, Pageable pageable);
+}
@@ -0,0 +1,120 @@
+package com.kush.cargoProAssignment.repository;
+
+import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.dto.EntityVersionDTO;
+import com.kush.cargoProAssignment.dto.LoadRateSummaryDTO;
+import com.kush.cargoProAssignment.model.Booking;
+import com.kush.cargoProAssignment.model.Load;
+import com.kush.cargoProAssignment.model.enums.BookingStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    static final int STREAM_FETCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Stream<Booking> streamByFilters(UUID loadId, String transporterId, BookingStatus status) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> root = query.from(Booking.class);
+        Predicate predicate = BookingSpecifications.withFilters(loadId, transporterId, status)
+                .toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public Page<BookingDTO> findDtosByFilters(UUID loadId, String transporterId, BookingStatus status, Pageable pageable) {
+        return DtoProjections.page(entityManager, Booking.class, BookingDTO.class, BookingRepositoryImpl::columns,
+                BookingSpecifications.withFilters(loadId, transporterId, status), pageable, "booking-filter-queries");
+    }
+
+    @Override
+    public Page<EntityVersionDTO> findVersionsByFilters(UUID loadId, String transporterId, BookingStatus status,
+                                                        Pageable pageable) {
+        return DtoProjections.page(entityManager, Booking.class, EntityVersionDTO.class, DtoProjections::versions,
+                BookingSpecifications.withFilters(loadId, transporterId, status), pageable, "booking-filter-queries");
+    }
+
+    @Override
+    public Page<LoadRateSummaryDTO> summarizeRatesByLoad(String shipperId, String truckType, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LoadRateSummaryDTO> query = cb.createQuery(LoadRateSummaryDTO.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Path<UUID> loadId = booking.get("loadId");
+        Path<Double> rate = booking.get("proposedRate");
+        // COUNT(proposed_rate) rather than COUNT(id): the rate is NOT NULL and, unlike the id, in the index
+        query.select(cb.construct(LoadRateSummaryDTO.class, loadId, cb.count(rate), cb.avg(rate), cb.min(rate)))
+                .where(loadFilters(booking, cb, shipperId, truckType))
+                .groupBy(loadId)
+                .orderBy(cb.asc(loadId));
+
+        TypedQuery<LoadRateSummaryDTO> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable,
+                () -> countRatedLoads(shipperId, truckType));
+    }
+
+    private long countRatedLoads(String shipperId, String truckType) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Booking> booking = query.from(Booking.class);
+        query.select(cb.countDistinct(booking.get("loadId")))
+                .where(loadFilters(booking, cb, shipperId, truckType));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // Joins loads only when there is something to filter them on
+    private static Predicate[] loadFilters(Root<Booking> booking, CriteriaBuilder cb, String shipperId,
+                                           String truckType) {
+        if (shipperId == null && truckType == null) {
+            return new Predicate[0];
+        }
+        Join<Booking, Load> load = booking.join("load");
+        List<Predicate> predicates = new ArrayList<>(2);
+        if (shipperId != null) {
+            predicates.add(cb.equal(load.get("shipperId"), shipperId));
+        }
+        if (truckType != null) {
+            predicates.add(cb.equal(load.get("truckType"), truckType));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    // In BookingDTO's field order; loadId is the read-only foreign key column, not a join
+    private static Selection<?>[] columns(Root<Booking> booking) {
+        return new Selection<?>[]{
+                booking.get("id"), booking.get("loadId"), booking.get("transporterId"), booking.get("proposedRate"),
+                booking.get("comment"), booking.get("status"), booking.get("requestedAt"), booking.get("version")
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.kush.cargoProAssignment.repository;
+
+import com.kush.cargoProAssignment.model.Booking;
+import com.kush.cargoProAssignment.model.enums.BookingStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds booking filter queries from only the filters that are present, so each combination
+ * produces its own SQL shape that the database can plan against the matching index.
+ */
+public final class BookingSpecifications {
+
+    private BookingSpecifications() {
+    }
+
+    public static Specification<Booking> withFilters(UUID loadId, String transporterId, BookingStatus status) {
+        List<Specification<Booking>> specifications = new ArrayList<>(3);
+        if (loadId != null) {
+            specifications.add(hasLoadId(loadId));
+        }
+        if (transporterId != null) {
+            specifications.add(hasTransporterId(transporterId));
+        }
+        if (status != null) {
+            specifications.add(hasStatus(status));
+        }
+        return Specification.allOf(specifications);
+    }
+
+    // Compares the foreign key column directly; no join to loads
+    public static Specification<Booking> hasLoadId(UUID loadId) {
+        return (root, query, cb) -> cb.equal(root.get("loadId"), loadId);
+    }
+
+    public static Specification<Booking> hasTransporterId(String transporterId) {
+        return (root, query, cb) -> cb.equal(root.get("transporterId"), transporterId);
+    }
+
+    public static Specification<Booking> hasStatus(BookingStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+}
@@ -0,0 +1,78 @@
+package com.kush.cargoProAssignment.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Pages of DTOs selected straight from a {@link Specification}'s rows with {@code cb.construct}: no entity is
+ * hydrated, snapshotted for dirty checking or put in the persistence context. Page and count results go to
+ * the given query cache region, like the entity queries they replace.
+ */
+final class DtoProjections {
+
+    private DtoProjections() {
+    }
+
+    static <T, D> Page<D> page(EntityManager entityManager, Class<T> entityType, Class<D> dtoType,
+                               Function<Root<T>, Selection<?>[]> columns, Specification<T> specification,
+                               Pageable pageable, String cacheRegion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<D> query = cb.createQuery(dtoType);
+        Root<T> root = query.from(entityType);
+        query.select(cb.construct(dtoType, columns.apply(root)));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<D> typedQuery = cached(entityManager.createQuery(query), cacheRegion);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<D> content = typedQuery.getResultList();
+        // The count only runs when the page alone cannot tell the total
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> count(entityManager, entityType, specification, cacheRegion));
+    }
+
+    // The columns of EntityVersionDTO, present on every versioned entity
+    static <T> Selection<?>[] versions(Root<T> root) {
+        return new Selection<?>[]{root.get("id"), root.get("version")};
+    }
+
+    private static <T> long count(EntityManager entityManager, Class<T> entityType, Specification<T> specification,
+                                  String cacheRegion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(entityType);
+        query.select(cb.count(root));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return cached(entityManager.createQuery(query), cacheRegion).getSingleResult();
+    }
+
+    private static <R> TypedQuery<R> cached(TypedQuery<R> query, String cacheRegion) {
+        return query.setHint(AvailableHints.HINT_CACHEABLE, true)
+                .setHint(AvailableHints.HINT_CACHE_REGION, cacheRegion);
+    }
+}
@@ -0,0 +1,23 @@
+package com.kush.cargoProAssignment.repository;
+
+import com.kush.cargoProAssignment.model.LoadBookingCounts;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface LoadBookingCountsRepository extends JpaRepository<LoadBookingCounts, UUID>,
+        LoadBookingCountsRepositoryCustom {
+
+    // A new instance rather than the managed entity, which would miss count() upserts made in this transaction
+    @Query("SELECT new com.kush.cargoProAssignment.model.LoadBookingCounts(c.loadId, c.pending, c.accepted, c.rejected) "
+            + "FROM LoadBookingCounts c WHERE c.loadId = :loadId")
+    Optional<LoadBookingCounts> findCounts(@Param("loadId") UUID loadId);
+
+    @Modifying
+    @Query("DELETE FROM LoadBookingCounts c WHERE c.loadId = :loadId")
+    void deleteCounts(@Param("loadId") UUID loadId);
+}
@@ -0,0 +1,22 @@
+package com.kush.cargoProAssignment.repository;
+
+import com.kush.cargoProAssignment.model.enums.BookingStatus;
+
+import java.util.UUID;
+
+public interface LoadBookingCountsRepositoryCustom {
+
+    /**
+     * Moves one booking of the load from {@code from} to {@code to}; {@code null} stands for a booking
+     * that did not exist before or no longer exists after. A single upsert, so concurrent changes add up.
+     * <p>
+     * The upsert holds the load's counts row until the transaction ends. Pending booking writes are flushed
+     * first, and a booking write makes no changes after this call other than to the load, so every writer
+     * takes its rows in the order bookings, counts, load: a writer holding the counts row only ever waits
+     * for the load row, and a writer holding the load row waits for nothing, so they cannot deadlock.
+     */
+    void count(UUID loadId, BookingStatus from, BookingStatus to);
+
+    // The same for {@code bookings} bookings at once
+    void count(UUID loadId, BookingStatus from, BookingStatus to, long bookings);
+}
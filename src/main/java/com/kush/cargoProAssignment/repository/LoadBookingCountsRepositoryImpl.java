@@ -0,0 +1,44 @@
+package com.kush.cargoProAssignment.repository;
+
+import com.kush.cargoProAssignment.model.enums.BookingStatus;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class LoadBookingCountsRepositoryImpl implements LoadBookingCountsRepositoryCustom {
+
+    // INSERT ... ON CONFLICT DO UPDATE on PostgreSQL (MERGE on H2): the row is created by the first booking and
+    // every change is applied relative to the stored value, without reading it first
+    private static final String UPSERT = "INSERT INTO LoadBookingCounts (loadId, pending, accepted, rejected) "
+            + "VALUES (:loadId, :pending, :accepted, :rejected) "
+            + "ON CONFLICT (loadId) DO UPDATE SET pending = pending + excluded.pending, "
+            + "accepted = accepted + excluded.accepted, rejected = rejected + excluded.rejected";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public void count(UUID loadId, BookingStatus from, BookingStatus to) {
+        count(loadId, from, to, 1);
+    }
+
+    @Override
+    public void count(UUID loadId, BookingStatus from, BookingStatus to, long bookings) {
+        if (from == to || bookings == 0) {
+            return;
+        }
+        // The booking changes being counted are written before the counts row is locked
+        entityManager.flush();
+        entityManager.createQuery(UPSERT)
+                .setParameter("loadId", loadId)
+                .setParameter("pending", delta(BookingStatus.PENDING, from, to, bookings))
+                .setParameter("accepted", delta(BookingStatus.ACCEPTED, from, to, bookings))
+                .setParameter("rejected", delta(BookingStatus.REJECTED, from, to, bookings))
+                .executeUpdate();
+    }
+
+    private static long delta(BookingStatus status, BookingStatus from, BookingStatus to, long bookings) {
+        return ((status == to ? 1 : 0) - (status == from ? 1 : 0)) * bookings;
+    }
+}
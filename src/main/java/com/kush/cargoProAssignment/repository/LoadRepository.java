@@ -1,22 +1,62 @@
 package com.kush.cargoProAssignment.repository;
 
+import com.kush.cargoProAssignment.dto.LoadDateFilterDTO;
+import com.kush.cargoProAssignment.dto.LoadSummaryDTO;
 import com.kush.cargoProAssignment.model.Load;
 import com.kush.cargoProAssignment.model.enums.LoadStatus;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface LoadRepository extends JpaRepository<Load, UUID> {
-    @Query("SELECT l FROM Load l WHERE " +
-            "(:shipperId IS NULL OR l.shipperId = :shipperId) AND " +
-            "(:truckType IS NULL OR l.truckType = :truckType) AND " +
-            "(:status IS NULL OR l.status = :status)")
-    Page<Load> findByFilters(@Param("shipperId") String shipperId,
-                             @Param("truckType") String truckType,
-                             @Param("status") LoadStatus status,
-                             Pageable pageable);
+public interface LoadRepository extends JpaRepository<Load, UUID>, JpaSpecificationExecutor<Load>,
+        LoadRepositoryCustom {
+
+    // Keyset page: rows strictly after (datePosted, id) in (datePosted DESC, id DESC) order, no count query
+    default Slice<Load> findByFiltersAfter(String shipperId, String truckType, LoadStatus status, LoadDateFilterDTO dates,
+                                           LocalDateTime datePosted, UUID id, Pageable pageable) {
+        Specification<Load> specification = LoadSpecifications.withFilters(shipperId, truckType, status, dates);
+        if (datePosted != null) {
+            specification = specification.and(LoadSpecifications.after(datePosted, id));
+        }
+        Pageable keysetPage = PageRequest.of(0, pageable.getPageSize(), LoadSpecifications.KEYSET_ORDER);
+        return findBy(specification, query -> query.slice(keysetPage));
+    }
+
+    // Aggregates run in the database; only one row per shipper / truck type comes back
+    @Query("SELECT new com.kush.cargoProAssignment.dto.LoadSummaryDTO(l.shipperId, COUNT(l), "
+            + "COUNT(CASE WHEN l.status = com.kush.cargoProAssignment.model.enums.LoadStatus.POSTED THEN 1 END), "
+            + "COUNT(CASE WHEN l.status = com.kush.cargoProAssignment.model.enums.LoadStatus.BOOKED THEN 1 END), "
+            + "COUNT(CASE WHEN l.status = com.kush.cargoProAssignment.model.enums.LoadStatus.CANCELLED THEN 1 END), "
+            + "SUM(l.weight), SUM(l.noOfTrucks)) "
+            + "FROM Load l GROUP BY l.shipperId ORDER BY l.shipperId")
+    List<LoadSummaryDTO> summarizeByShipper();
+
+    @Query("SELECT new com.kush.cargoProAssignment.dto.LoadSummaryDTO(l.truckType, COUNT(l), "
+            + "COUNT(CASE WHEN l.status = com.kush.cargoProAssignment.model.enums.LoadStatus.POSTED THEN 1 END), "
+            + "COUNT(CASE WHEN l.status = com.kush.cargoProAssignment.model.enums.LoadStatus.BOOKED THEN 1 END), "
+            + "COUNT(CASE WHEN l.status = com.kush.cargoProAssignment.model.enums.LoadStatus.CANCELLED THEN 1 END), "
+            + "SUM(l.weight), SUM(l.noOfTrucks)) "
+            + "FROM Load l GROUP BY l.truckType ORDER BY l.truckType")
+    List<LoadSummaryDTO> summarizeByTruckType();
+
+    // Source for rebuilding the in-memory load indexes; consumed inside a transaction, bypassing the second-level cache
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT l FROM Load l")
+    Stream<Load> streamAll();
 }
@@ -0,0 +1,23 @@
+package com.kush.cargoProAssignment.repository;
+
+import com.kush.cargoProAssignment.dto.EntityVersionDTO;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.dto.LoadDateFilterDTO;
+import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface LoadRepositoryCustom {
+
+    /**
+     * A page of the loads matching {@link LoadSpecifications#withFilters}, selected straight into DTOs. Page and
+     * count results go to the load-filter-queries query cache region, which Hibernate invalidates whenever the
+     * loads table is written.
+     */
+    Page<LoadDTO> findDtosByFilters(String shipperId, String truckType, LoadStatus status, LoadDateFilterDTO dates,
+                                    Pageable pageable);
+
+    // The ids and versions of the same page, for revalidating it without selecting the DTOs
+    Page<EntityVersionDTO> findVersionsByFilters(String shipperId, String truckType, LoadStatus status,
+                                                 LoadDateFilterDTO dates, Pageable pageable);
+}
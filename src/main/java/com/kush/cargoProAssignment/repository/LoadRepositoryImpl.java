@@ -0,0 +1,48 @@
+package com.kush.cargoProAssignment.repository;
+
+import com.kush.cargoProAssignment.dto.EntityVersionDTO;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.dto.LoadDateFilterDTO;
+import com.kush.cargoProAssignment.model.Load;
+import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+@RequiredArgsConstructor
+class LoadRepositoryImpl implements LoadRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<LoadDTO> findDtosByFilters(String shipperId, String truckType, LoadStatus status, LoadDateFilterDTO dates,
+                                           Pageable pageable) {
+        return DtoProjections.page(entityManager, Load.class, LoadDTO.class, LoadRepositoryImpl::columns,
+                LoadSpecifications.withFilters(shipperId, truckType, status, dates), pageable, "load-filter-queries");
+    }
+
+    @Override
+    public Page<EntityVersionDTO> findVersionsByFilters(String shipperId, String truckType, LoadStatus status,
+                                                        LoadDateFilterDTO dates, Pageable pageable) {
+        return DtoProjections.page(entityManager, Load.class, EntityVersionDTO.class, DtoProjections::versions,
+                LoadSpecifications.withFilters(shipperId, truckType, status, dates), pageable, "load-filter-queries");
+    }
+
+    // In the order of LoadDTO's projection constructor
+    private static Selection<?>[] columns(Root<Load> load) {
+        Path<Object> facility = load.get("facility");
+        return new Selection<?>[]{
+                load.get("id"), load.get("shipperId"),
+                facility.get("loadingPoint"), facility.get("unloadingPoint"),
+                facility.get("loadingDate"), facility.get("unloadingDate"),
+                facility.get("loadingLatitude"), facility.get("loadingLongitude"),
+                facility.get("unloadingLatitude"), facility.get("unloadingLongitude"),
+                load.get("productType"), load.get("truckType"), load.get("noOfTrucks"), load.get("weight"),
+                load.get("comment"), load.get("datePosted"), load.get("status"), load.get("version")
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.kush.cargoProAssignment.repository;
+
+import com.kush.cargoProAssignment.dto.LoadDateFilterDTO;
+import com.kush.cargoProAssignment.model.Load;
+import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds load filter queries from only the filters that are present, so each combination
+ * produces its own SQL shape that the database can plan against the matching index.
+ */
+public final class LoadSpecifications {
+
+    public static final Sort KEYSET_ORDER = Sort.by(Sort.Direction.DESC, "datePosted", "id");
+
+    private LoadSpecifications() {
+    }
+
+    public static Specification<Load> withFilters(String shipperId, String truckType, LoadStatus status) {
+        return withFilters(shipperId, truckType, status, null);
+    }
+
+    public static Specification<Load> withFilters(String shipperId, String truckType, LoadStatus status,
+                                                  LoadDateFilterDTO dates) {
+        List<Specification<Load>> specifications = new ArrayList<>(5);
+        if (shipperId != null) {
+            specifications.add(hasShipperId(shipperId));
+        }
+        if (truckType != null) {
+            specifications.add(hasTruckType(truckType));
+        }
+        if (status != null) {
+            specifications.add(hasStatus(status));
+        }
+        if (dates != null) {
+            if (dates.getLoadingFrom() != null || dates.getLoadingTo() != null) {
+                specifications.add(facilityDateBetween("loadingDate", dates.getLoadingFrom(), dates.getLoadingTo()));
+            }
+            if (dates.getUnloadingFrom() != null || dates.getUnloadingTo() != null) {
+                specifications.add(facilityDateBetween("unloadingDate", dates.getUnloadingFrom(), dates.getUnloadingTo()));
+            }
+        }
+        return Specification.allOf(specifications);
+    }
+
+    public static Specification<Load> hasShipperId(String shipperId) {
+        return (root, query, cb) -> cb.equal(root.get("shipperId"), shipperId);
+    }
+
+    public static Specification<Load> hasTruckType(String truckType) {
+        return (root, query, cb) -> cb.equal(root.get("truckType"), truckType);
+    }
+
+    public static Specification<Load> hasStatus(LoadStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    // Inclusive range on a Facility date; either bound may be null, but not both
+    public static Specification<Load> facilityDateBetween(String attribute, LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> date = root.get("facility").get(attribute);
+            if (from == null) {
+                return cb.lessThanOrEqualTo(date, to);
+            }
+            return to == null ? cb.greaterThanOrEqualTo(date, from) : cb.between(date, from, to);
+        };
+    }
+
+    // Rows strictly after (datePosted, id) in KEYSET_ORDER
+    public static Specification<Load> after(LocalDateTime datePosted, UUID id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("datePosted"), datePosted),
+                cb.and(cb.equal(root.get("datePosted"), datePosted), cb.lessThan(root.get("id"), id)));
+    }
+}
@@ -0,0 +1,53 @@
+package com.kush.cargoProAssignment.service;
+
+import com.kush.cargoProAssignment.config.CacheConfig;
+import com.kush.cargoProAssignment.dto.LoadRateSummaryDTO;
+import com.kush.cargoProAssignment.dto.LoadSummaryDTO;
+import com.kush.cargoProAssignment.exceptions.BusinessException;
+import com.kush.cargoProAssignment.repository.BookingRepository;
+import com.kush.cargoProAssignment.repository.LoadRepository;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Summaries computed with GROUP BY in the database. Results are cached for the DTO cache TTL, so a
+ * dashboard polling these endpoints runs each aggregate at most once per TTL.
+ */
+@Observed(name = "cargo.service")
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class AnalyticsService {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final LoadRepository loadRepository;
+
+    private final BookingRepository bookingRepository;
+
+    @Cacheable(cacheNames = CacheConfig.ANALYTICS, key = "'loads-by-shipper'")
+    public List<LoadSummaryDTO> getLoadSummaryByShipper() {
+        return loadRepository.summarizeByShipper();
+    }
+
+    @Cacheable(cacheNames = CacheConfig.ANALYTICS, key = "'loads-by-truck-type'")
+    public List<LoadSummaryDTO> getLoadSummaryByTruckType() {
+        return loadRepository.summarizeByTruckType();
+    }
+
+    @Cacheable(cacheNames = CacheConfig.ANALYTICS,
+            key = "{'rates', #shipperId, #truckType, #page, #size}")
+    public Page<LoadRateSummaryDTO> getRateSummaryByLoad(String shipperId, String truckType, int page, int size) {
+        if (page < 1 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException("Page must be at least 1 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        return bookingRepository.summarizeRatesByLoad(shipperId, truckType, PageRequest.of(page - 1, size));
+    }
+}
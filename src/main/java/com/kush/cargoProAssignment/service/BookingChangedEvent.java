@@ -0,0 +1,18 @@
+package com.kush.cargoProAssignment.service;
+
+import com.kush.cargoProAssignment.model.Booking;
+
+/**
+ * Published by {@link BookingService} whenever a booking is created, changed or deleted, within the
+ * transaction that makes the change.
+ */
+public record BookingChangedEvent(Booking booking, boolean deleted) {
+
+    public static BookingChangedEvent saved(Booking booking) {
+        return new BookingChangedEvent(booking, false);
+    }
+
+    public static BookingChangedEvent deleted(Booking booking) {
+        return new BookingChangedEvent(booking, true);
+    }
+}
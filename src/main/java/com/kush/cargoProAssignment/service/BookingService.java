@@ -1,102 +1,339 @@
 package com.kush.cargoProAssignment.service;
 
+import com.kush.cargoProAssignment.config.CacheConfig;
+import com.kush.cargoProAssignment.dto.BookingAwardDTO;
 import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.dto.EntityVersionDTO;
 import com.kush.cargoProAssignment.exceptions.BusinessException;
+import com.kush.cargoProAssignment.exceptions.ConflictException;
+import com.kush.cargoProAssignment.exceptions.PreconditionFailedException;
 import com.kush.cargoProAssignment.exceptions.ResourceNotFoundException;
+import com.kush.cargoProAssignment.mapper.BookingMapper;
 import com.kush.cargoProAssignment.model.Booking;
 import com.kush.cargoProAssignment.model.Load;
+import com.kush.cargoProAssignment.model.LoadBookingCounts;
 import com.kush.cargoProAssignment.model.enums.BookingStatus;
 import com.kush.cargoProAssignment.model.enums.LoadStatus;
 import com.kush.cargoProAssignment.repository.BookingRepository;
+import com.kush.cargoProAssignment.repository.LoadBookingCountsRepository;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+// Every public method is timed as cargo.service{class, method}
+@Observed(name = "cargo.service")
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class BookingService {
 
+    static final int MAX_TOP_BIDS = 100;
+
+    // Ids per bulk UPDATE when awarding a load; keeps each IN list well inside driver parameter limits
+    static final int REJECT_CHUNK_SIZE = 1000;
+
     private final BookingRepository bookingRepository;
 
+    private final LoadBookingCountsRepository loadBookingCountsRepository;
+
     private final LoadService loadService;
 
-    private final ModelMapper modelMapper;
+    private final BookingMapper bookingMapper;
+
+    private final EntityManager entityManager;
+
+    private final OptimisticRetry optimisticRetry;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final CacheManager cacheManager;
+
+    @Transactional(propagation = Propagation.SUPPORTS)
     public BookingDTO createBooking(BookingDTO bookingDTO) {
-        Load load = loadService.findEntityById(bookingDTO.getLoadId());
+        // Retried because the first booking of a load changes its (versioned) status
+        return optimisticRetry.execute(() -> {
+            Load load = loadService.findEntityById(bookingDTO.getLoadId());
 
-        if (load.getStatus() == LoadStatus.CANCELLED) {
-            throw new BusinessException("Cannot create booking for a cancelled load");
-        }
+            if (load.getStatus() == LoadStatus.CANCELLED) {
+                throw new BusinessException("Cannot create booking for a cancelled load");
+            }
+
+            Booking booking = bookingMapper.toEntity(bookingDTO);
+            booking.setLoad(load);
+            booking.setStatus(BookingStatus.PENDING);
 
-        Booking booking = modelMapper.map(bookingDTO, Booking.class);
-        booking.setLoad(load);
-        booking.setStatus(BookingStatus.PENDING);
+            Booking savedBooking = bookingRepository.save(booking);
+            // After the booking and before the load, as in every booking write; see LoadBookingCountsRepositoryCustom
+            loadBookingCountsRepository.count(load.getId(), null, BookingStatus.PENDING);
+            eventPublisher.publishEvent(BookingChangedEvent.saved(savedBooking));
 
-        Booking savedBooking = bookingRepository.save(booking);
+            // Update load status to BOOKED when any booking is created
+            loadService.updateLoadStatus(load, LoadStatus.BOOKED);
 
-        // Update load status to BOOKED when any booking is created
-        loadService.updateLoadStatus(load.getId(), LoadStatus.BOOKED);
+            return bookingMapper.toDto(savedBooking);
+        });
+    }
+
+    // Rows are selected straight into DTOs; no Booking is hydrated or dirty-checked
+    @Transactional(readOnly = true)
+    public Page<BookingDTO> getBookings(UUID loadId, String transporterId, BookingStatus status, int page, int size) {
+        Pageable pageable = PageRequest.of(page - 1, size);
+        return bookingRepository.findDtosByFilters(loadId, transporterId, status, pageable);
+    }
+
+    // The ids and versions of the page getBookings would return, in the same order and with the same total
+    @Transactional(readOnly = true)
+    public Page<EntityVersionDTO> getBookingVersions(UUID loadId, String transporterId, BookingStatus status,
+                                                     int page, int size) {
+        return bookingRepository.findVersionsByFilters(loadId, transporterId, status, PageRequest.of(page - 1, size));
+    }
 
-        return modelMapper.map(savedBooking, BookingDTO.class);
+    /**
+     * The {@code n} lowest-rate PENDING bookings of a load, cheapest first (ties by id). Cost depends on
+     * {@code n}, not on how many bids the load has.
+     */
+    @Transactional(readOnly = true)
+    public List<BookingDTO> getTopBids(UUID loadId, int n) {
+        if (n < 1 || n > MAX_TOP_BIDS) {
+            throw new BusinessException("n must be between 1 and " + MAX_TOP_BIDS);
+        }
+        // 404 for an unknown load rather than an empty list
+        loadService.findEntityById(loadId);
+        return bookingRepository.findLowestPendingBids(loadId, Limit.of(n)).stream()
+                .map(bookingMapper::toDto)
+                .toList();
     }
 
-    public List<BookingDTO> getBookings(UUID loadId, String transporterId, BookingStatus status) {
-        return bookingRepository.findByFilters(loadId, transporterId, status)
-                .stream()
-                .map(booking -> modelMapper.map(booking, BookingDTO.class))
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void streamBookings(UUID loadId, String transporterId, BookingStatus status, Consumer<BookingDTO> consumer) {
+        try (Stream<Booking> bookings = bookingRepository.streamByFilters(loadId, transporterId, status)) {
+            bookings.forEach(booking -> {
+                consumer.accept(bookingMapper.toDto(booking));
+                // Keep the persistence context from growing with the result set
+                entityManager.detach(booking);
+            });
+        }
     }
 
+    // An entity read rather than a projection: findById is usually a second-level cache hit with no SELECT
+    @Cacheable(cacheNames = CacheConfig.BOOKINGS, key = "#id")
+    @Transactional(readOnly = true)
     public BookingDTO getBookingById(UUID id) {
         Booking booking = findEntityById(id);
-        return modelMapper.map(booking, BookingDTO.class);
+        return bookingMapper.toDto(booking);
     }
 
+    // Version only, for If-None-Match revalidation; served from the second-level cache when the booking is there
+    @Transactional(readOnly = true)
+    public Long getBookingVersion(UUID id) {
+        return findEntityById(id).getVersion();
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.BOOKINGS, key = "#id")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public BookingDTO updateBooking(UUID id, BookingDTO bookingDTO) {
-        Booking existingBooking = findEntityById(id);
-        BookingStatus previousStatus = existingBooking.getStatus();
+        return updateBooking(id, bookingDTO, null);
+    }
 
-        // Only update modifiable fields (avoid overriding load and ID)
-        existingBooking.setTransporterId(bookingDTO.getTransporterId());
-        existingBooking.setProposedRate(bookingDTO.getProposedRate());
-        existingBooking.setComment(bookingDTO.getComment());
-        existingBooking.setStatus(bookingDTO.getStatus());
+    /**
+     * Updates the booking only if it is still at one of {@code expectedVersions} ({@code null} skips the check).
+     * A retry after a concurrent change therefore fails the precondition instead of overwriting it.
+     */
+    @CacheEvict(cacheNames = CacheConfig.BOOKINGS, key = "#id")
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BookingDTO updateBooking(UUID id, BookingDTO bookingDTO, Set<Long> expectedVersions) {
+        return optimisticRetry.execute(() -> {
+            Booking existingBooking = findEntityById(id);
+            if (expectedVersions != null && !expectedVersions.contains(existingBooking.getVersion())) {
+                throw new PreconditionFailedException("Booking " + id + " is at version "
+                        + existingBooking.getVersion() + ", not " + expectedVersions);
+            }
+            BookingStatus previousStatus = existingBooking.getStatus();
 
-        Booking updatedBooking = bookingRepository.save(existingBooking);
+            // Only update modifiable fields (avoid overriding load and ID)
+            existingBooking.setTransporterId(bookingDTO.getTransporterId());
+            existingBooking.setProposedRate(bookingDTO.getProposedRate());
+            existingBooking.setComment(bookingDTO.getComment());
 
-        // If accepted, ensure load status is BOOKED
-        if (updatedBooking.getStatus() == BookingStatus.ACCEPTED &&
-                previousStatus != BookingStatus.ACCEPTED) {
-            loadService.updateLoadStatus(updatedBooking.getLoad().getId(), LoadStatus.BOOKED);
+            // Accepting goes through the same guarded path as PUT /booking/{id}/accept
+            if (bookingDTO.getStatus() == BookingStatus.ACCEPTED && previousStatus != BookingStatus.ACCEPTED) {
+                accept(existingBooking);
+            } else {
+                existingBooking.setStatus(bookingDTO.getStatus());
+                loadBookingCountsRepository.count(existingBooking.getLoadId(), previousStatus, bookingDTO.getStatus());
+            }
+
+            // Flushed so the returned DTO (and its ETag) carries the new version
+            bookingRepository.saveAndFlush(existingBooking);
+            eventPublisher.publishEvent(BookingChangedEvent.saved(existingBooking));
+            return bookingMapper.toDto(existingBooking);
+        });
+    }
+
+    /**
+     * Accepts a booking, guaranteeing at most one ACCEPTED booking per load. Concurrent accepts
+     * for the same load are serialized through the load's version rather than a row lock; the
+     * losers are retried and then rejected with a conflict.
+     */
+    @CacheEvict(cacheNames = CacheConfig.BOOKINGS, key = "#id")
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BookingDTO acceptBooking(UUID id) {
+        try {
+            return optimisticRetry.execute(() -> {
+                Booking booking = findEntityById(id);
+                if (booking.getStatus() != BookingStatus.ACCEPTED) {
+                    accept(booking);
+                    bookingRepository.saveAndFlush(booking);
+                    eventPublisher.publishEvent(BookingChangedEvent.saved(booking));
+                }
+                return bookingMapper.toDto(booking);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // Unique index on accepted bookings per load caught a race the version check did not
+            throw new ConflictException("Load already has an accepted booking");
         }
+    }
+
+    /**
+     * Accepts the booking like {@link #acceptBooking(UUID)} and rejects every other PENDING booking of its
+     * load, all in one transaction. The rejections are bulk UPDATEs of up to {@link #REJECT_CHUNK_SIZE} ids
+     * and a single counts upsert, so a load with thousands of bids costs a handful of statements rather
+     * than a read and a write per bid. Repeating the call on the accepted booking rejects bids placed since.
+     */
+    @CacheEvict(cacheNames = CacheConfig.BOOKINGS, key = "#id")
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BookingAwardDTO awardBooking(UUID id) {
+        List<UUID> rejectedIds = new ArrayList<>();
+        BookingAwardDTO award;
+        try {
+            award = optimisticRetry.execute(() -> {
+                rejectedIds.clear();
+                int rejected = 0;
+                Booking booking = findEntityById(id);
+                UUID loadId = booking.getLoadId();
 
-        return modelMapper.map(updatedBooking, BookingDTO.class);
+                // The booking being accepted is locked along with the others, so concurrent awards take the
+                // same rows in the same order
+                List<UUID> pendingIds = bookingRepository.findPendingIds(loadId).stream()
+                        .filter(pendingId -> !pendingId.equals(id))
+                        .toList();
+                boolean accepting = booking.getStatus() != BookingStatus.ACCEPTED;
+                if (accepting) {
+                    markAccepted(booking);
+                    bookingRepository.saveAndFlush(booking);
+                }
+                for (int from = 0; from < pendingIds.size(); from += REJECT_CHUNK_SIZE) {
+                    List<UUID> chunk = pendingIds.subList(from, Math.min(from + REJECT_CHUNK_SIZE, pendingIds.size()));
+                    int updated = bookingRepository.rejectPending(chunk);
+                    if (updated != chunk.size()) {
+                        // The ids were read under a row lock, so this means they were not: retry rather than
+                        // report bookings this transaction did not reject
+                        throw new OptimisticLockingFailureException(
+                                "Rejected " + updated + " of " + chunk.size() + " pending bookings of load " + loadId);
+                    }
+                    rejected += updated;
+                    rejectedIds.addAll(chunk);
+                }
+
+                // Every booking row is written; the counts row and the load come last, as in any booking write
+                if (rejected > 0) {
+                    loadBookingCountsRepository.count(loadId, BookingStatus.PENDING, BookingStatus.REJECTED, rejected);
+                    eventPublisher.publishEvent(new BookingsRejectedEvent(loadId, List.copyOf(rejectedIds)));
+                }
+                int accepted = 0;
+                if (accepting) {
+                    countAccepted(booking);
+                    eventPublisher.publishEvent(BookingChangedEvent.saved(booking));
+                    accepted = 1;
+                }
+                return new BookingAwardDTO(bookingMapper.toDto(booking), accepted, rejected);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            throw new ConflictException("Load already has an accepted booking");
+        }
+        // After commit, so a concurrent read cannot cache a rejected booking's old state again
+        Cache bookings = cacheManager.getCache(CacheConfig.BOOKINGS);
+        if (bookings != null) {
+            rejectedIds.forEach(bookings::evict);
+        }
+        return award;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.BOOKINGS, key = "#id")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void deleteBooking(UUID id) {
-        Booking booking = findEntityById(id);
-        Load load = booking.getLoad();
+        optimisticRetry.execute(() -> {
+            Booking booking = findEntityById(id);
+            // Read the load (and its version) before checking the remaining bookings, so an accept
+            // committed in between makes the status write below fail instead of being overwritten
+            Load load = booking.getLoad();
+            LoadStatus currentStatus = load.getStatus();
 
-        bookingRepository.delete(booking);
+            bookingRepository.delete(booking);
+            loadBookingCountsRepository.count(load.getId(), booking.getStatus(), null);
+            eventPublisher.publishEvent(BookingChangedEvent.deleted(booking));
 
-        // Check remaining bookings
-        List<Booking> remainingBookings = bookingRepository.findByLoad(load);
-        boolean hasAcceptedBookings = remainingBookings.stream()
-                .anyMatch(b -> b.getStatus() == BookingStatus.ACCEPTED);
+            // The remaining bookings per status, read from one row however many bids the load has
+            LoadBookingCounts remaining = loadBookingCountsRepository.findCounts(load.getId())
+                    .orElseGet(() -> new LoadBookingCounts(load.getId(), 0, 0, 0));
+            if (remaining.getAccepted() == 0) {
+                // If no accepted bookings remain, revert load status
+                LoadStatus newStatus = remaining.total() > 0 ? LoadStatus.POSTED : LoadStatus.CANCELLED;
+                if (newStatus != currentStatus) {
+                    loadService.transitionStatus(load, newStatus);
+                }
+            }
+            return null;
+        });
+    }
+
+    private void accept(Booking booking) {
+        markAccepted(booking);
+        countAccepted(booking);
+    }
 
-        if (!hasAcceptedBookings) {
-            // If no accepted bookings remain, revert load status
-            LoadStatus newStatus = remainingBookings.isEmpty() ? LoadStatus.CANCELLED : LoadStatus.POSTED;
-            loadService.updateLoadStatus(load.getId(), newStatus);
+    // The booking's own change; a booking write makes it before taking the counts row and the load
+    private void markAccepted(Booking booking) {
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            throw new BusinessException("Only pending bookings can be accepted");
+        }
+        Load load = booking.getLoad();
+        if (load.getStatus() == LoadStatus.CANCELLED) {
+            throw new BusinessException("Cannot accept a booking for a cancelled load");
+        }
+        if (bookingRepository.existsByLoadAndStatus(load, BookingStatus.ACCEPTED)) {
+            throw new ConflictException("Load already has an accepted booking");
         }
+        booking.setStatus(BookingStatus.ACCEPTED);
+    }
+
+    private void countAccepted(Booking booking) {
+        Load load = booking.getLoad();
+        loadBookingCountsRepository.count(load.getId(), BookingStatus.PENDING, BookingStatus.ACCEPTED);
+        // Version-checked even when the load is already BOOKED, so two accepts cannot both commit
+        loadService.transitionStatus(load, LoadStatus.BOOKED);
     }
 
     protected Booking findEntityById(UUID id) {
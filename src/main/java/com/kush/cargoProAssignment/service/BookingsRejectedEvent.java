@@ -0,0 +1,11 @@
+package com.kush.cargoProAssignment.service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published by {@link BookingService#awardBooking(UUID)} for the PENDING bookings of a load it rejected
+ * with bulk updates, within that transaction. Carries ids only, as the bookings are never loaded.
+ */
+public record BookingsRejectedEvent(UUID loadId, List<UUID> bookingIds) {
+}
@@ -0,0 +1,56 @@
+package com.kush.cargoProAssignment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kush.cargoProAssignment.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends relayed events to {@code outbox.file-sink.path} as NDJSON, one event per line. Meant for
+ * local runs and tests; a line can repeat when a batch is retried.
+ */
+@Component
+@ConditionalOnProperty("outbox.file-sink.path")
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileOutboxSink(ObjectMapper objectMapper, @Value("${outbox.file-sink.path}") Path path) {
+        this.objectMapper = objectMapper;
+        this.path = path;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)) {
+            for (OutboxEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(line(event)));
+                writer.newLine();
+            }
+        }
+    }
+
+    private Map<String, Object> line(OutboxEvent event) throws IOException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("id", event.getId());
+        line.put("aggregateType", event.getAggregateType());
+        line.put("aggregateId", event.getAggregateId());
+        line.put("eventType", event.getEventType());
+        line.put("createdAt", event.getCreatedAt().toString());
+        line.put("payload", objectMapper.readTree(event.getPayload()));
+        return line;
+    }
+}
@@ -0,0 +1,18 @@
+package com.kush.cargoProAssignment.service;
+
+import com.kush.cargoProAssignment.model.Load;
+
+/**
+ * Published by {@link LoadService} whenever a load is created, changed or deleted. Listeners that
+ * run after commit see the entity as it was flushed, including its new version.
+ */
+public record LoadChangedEvent(Load load, boolean deleted) {
+
+    public static LoadChangedEvent saved(Load load) {
+        return new LoadChangedEvent(load, false);
+    }
+
+    public static LoadChangedEvent deleted(Load load) {
+        return new LoadChangedEvent(load, true);
+    }
+}
@@ -0,0 +1,42 @@
+package com.kush.cargoProAssignment.service;
+
+import com.kush.cargoProAssignment.exceptions.BusinessException;
+import com.kush.cargoProAssignment.model.Load;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last load returned in keyset pagination, encoded for clients as an opaque
+ * URL-safe token.
+ */
+record LoadCursor(LocalDateTime datePosted, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    static LoadCursor of(Load load) {
+        return new LoadCursor(load.getDatePosted(), load.getId());
+    }
+
+    String encode() {
+        String raw = datePosted.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static LoadCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BusinessException("Invalid cursor");
+            }
+            return new LoadCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.kush.cargoProAssignment.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kush.cargoProAssignment.mapper.LoadMapper;
+import com.kush.cargoProAssignment.model.Load;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes committed load changes to GET /load/feed subscribers as server-sent events.
+ * <p>
+ * Each change is serialized once and the same frame is offered to every matching subscriber's
+ * bounded queue, so the committing thread never waits on a client. A subscriber's queue is
+ * drained on a virtual thread only while it has frames, so idle connections hold no thread.
+ * A subscriber whose queue fills up (a slow or stalled client) is disconnected; its
+ * EventSource reconnects and should re-read {@code GET /load} to catch up.
+ * <p>
+ * Open streams are completed when the context stops, ahead of the web server's graceful
+ * shutdown, which would otherwise wait out its timeout on them.
+ */
+@Component
+public class LoadFeedBroadcaster implements SmartLifecycle {
+
+    static final String LOAD_EVENT = "load";
+    static final String DELETED_EVENT = "load-deleted";
+
+    private final LoadMapper loadMapper;
+    private final ObjectMapper objectMapper;
+    private final int queueCapacity;
+    private final Duration timeout;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+    private final Counter slowConsumerDisconnects;
+    private volatile boolean running;
+
+    public LoadFeedBroadcaster(LoadMapper loadMapper, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                               @Value("${load-feed.queue-capacity:256}") int queueCapacity,
+                               @Value("${load-feed.timeout:30m}") Duration timeout) {
+        this.loadMapper = loadMapper;
+        this.objectMapper = objectMapper;
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout;
+        meterRegistry.gauge("cargo.feed.subscribers", subscribers, Set::size);
+        this.slowConsumerDisconnects = Counter.builder("cargo.feed.slow.disconnects")
+                .description("Feed subscribers disconnected because their queue was full")
+                .register(meterRegistry);
+    }
+
+    // truckType null receives every load
+    public SseEmitter subscribe(String truckType) {
+        return subscribe(new SseEmitter(timeout.toMillis()), truckType);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String truckType) {
+        Subscriber subscriber = new Subscriber(emitter, truckType, new ArrayBlockingQueue<>(queueCapacity));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        // Commits the response headers right away, so clients know they are subscribed
+        subscriber.offer(heartbeat);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLoadChanged(LoadChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Load load = event.load();
+        Set<DataWithMediaType> frame = event.deleted()
+                ? frame(DELETED_EVENT, Map.of("id", load.getId()), load.getId())
+                : frame(LOAD_EVENT, loadMapper.toDto(load), load.getId());
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.truckType() == null || subscriber.truckType().equals(load.getTruckType())) {
+                subscriber.offer(frame);
+            }
+        }
+    }
+
+    // Keeps proxies from closing idle connections and finds clients that went away
+    @Scheduled(fixedRateString = "${load-feed.heartbeat:15s}")
+    public void sendHeartbeats() {
+        subscribers.forEach(subscriber -> subscriber.offer(heartbeat));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        subscribers.forEach(subscriber -> {
+            subscribers.remove(subscriber);
+            subscriber.emitter().complete();
+        });
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stop();
+        senders.shutdownNow();
+    }
+
+    private Set<DataWithMediaType> frame(String name, Object data, UUID id) {
+        try {
+            return SseEmitter.event()
+                    .name(name)
+                    .id(id.toString())
+                    .data(objectMapper.writeValueAsString(data), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final String truckType;
+        private final Queue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, String truckType, Queue<Set<DataWithMediaType>> queue) {
+            this.emitter = emitter;
+            this.truckType = truckType;
+            this.queue = queue;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        String truckType() {
+            return truckType;
+        }
+
+        void offer(Set<DataWithMediaType> frame) {
+            if (!queue.offer(frame)) {
+                if (subscribers.remove(this)) {
+                    slowConsumerDisconnects.increment();
+                    // Not on this thread: a send blocked on the client holds the emitter's lock
+                    senders.execute(emitter::complete);
+                }
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Set<DataWithMediaType> frame;
+                while ((frame = queue.poll()) != null) {
+                    try {
+                        emitter.send(frame);
+                    } catch (IOException | IllegalStateException e) {
+                        // Client gone or emitter already completed; the container completes the request
+                        subscribers.remove(this);
+                        queue.clear();
+                        return;
+                    }
+                }
+                draining.set(false);
+                // A frame offered after the last poll but before the reset would otherwise wait for the next offer
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
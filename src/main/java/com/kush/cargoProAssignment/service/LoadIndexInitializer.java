@@ -0,0 +1,44 @@
+package com.kush.cargoProAssignment.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills {@link LoadSpatialIndex} and {@link LoadSearchIndex} from the database at startup.
+ * <p>
+ * Runs in a lifecycle phase ahead of the embedded web server's ({@code DEFAULT_PHASE - 2048}) and of the
+ * schedulers, which start once the context is refreshed. No load can therefore change while the indexes
+ * are rebuilt, and a load deleted during startup cannot be put back by a rebuild that read it first.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoadIndexInitializer implements SmartLifecycle {
+
+    static final int PHASE = DEFAULT_PHASE - 4096;
+
+    private final LoadService loadService;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        loadService.rebuildIndexes();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
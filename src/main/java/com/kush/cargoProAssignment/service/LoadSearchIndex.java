@@ -0,0 +1,376 @@
+package com.kush.cargoProAssignment.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kush.cargoProAssignment.model.Facility;
+import com.kush.cargoProAssignment.model.Load;
+import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory inverted index over each load's product type, loading/unloading points and comment,
+ * for GET /load/search. Query tokens match terms exactly, as a prefix (from {@link #MIN_PREFIX_LENGTH}
+ * characters) or with one typo (from {@link #MIN_FUZZY_LENGTH} characters), at decreasing weight.
+ * Every token must match; documents are ranked by the sum of field weight x match weight x idf.
+ * <p>
+ * Kept current from {@link LoadChangedEvent}s after each commit and rebuilt at startup by
+ * {@link LoadService#rebuildIndexes()}. Like {@link LoadSpatialIndex} it can briefly lag the database.
+ */
+@Component
+public class LoadSearchIndex {
+
+    static final int MIN_PREFIX_LENGTH = 2;
+    static final int MIN_FUZZY_LENGTH = 4;
+
+    // Bounds the work of short prefixes such as "co"
+    static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    static final double PRODUCT_TYPE_WEIGHT = 3;
+    static final double POINT_WEIGHT = 2;
+    static final double COMMENT_WEIGHT = 1;
+
+    static final double PREFIX_MATCH = 0.6;
+    static final double FUZZY_MATCH = 0.4;
+
+    private final Map<UUID, Document> documents = new ConcurrentHashMap<>();
+
+    // term -> load -> summed field weight of the term in that load
+    private final Map<String, Map<UUID, Double>> postings = new ConcurrentHashMap<>();
+    private final NavigableSet<String> terms = new ConcurrentSkipListSet<>();
+
+    // Every term with one character deleted -> the terms it came from; finds one-typo candidates
+    private final Map<String, Set<String>> deletions = new ConcurrentHashMap<>();
+
+    // Version of each recently deleted load, so a late event for an older version cannot bring it back
+    private final Cache<UUID, Long> tombstones = Caffeine.newBuilder()
+            .expireAfterWrite(LoadSpatialIndex.TOMBSTONE_TTL)
+            .build();
+
+    private record Document(long version, LoadStatus status, Map<String, Double> termWeights) {
+    }
+
+    public record Hit(UUID id, double score) {
+    }
+
+    public record Hits(List<Hit> hits, long total) {
+    }
+
+    private record Candidate(String term, double match) {
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLoadChanged(LoadChangedEvent event) {
+        if (event.deleted()) {
+            Load load = event.load();
+            remove(load.getId(), load.getVersion() != null ? load.getVersion() : 0);
+        } else {
+            put(event.load());
+        }
+    }
+
+    /**
+     * Indexes the load, replacing its previous terms. A version older than the indexed one, or no
+     * newer than the load's removal, is ignored, since after-commit events of concurrent transactions
+     * can arrive out of order.
+     */
+    public void put(Load load) {
+        long version = load.getVersion() != null ? load.getVersion() : 0;
+        Map<String, Double> termWeights = termWeights(load);
+        documents.compute(load.getId(), (id, indexed) -> {
+            if (indexed != null && indexed.version() > version) {
+                return indexed;
+            }
+            if (indexed != null) {
+                indexed.termWeights().keySet().stream()
+                        .filter(term -> !termWeights.containsKey(term))
+                        .forEach(term -> removePosting(term, id));
+            } else {
+                Long removed = tombstones.getIfPresent(id);
+                if (removed != null && removed >= version) {
+                    return null;
+                }
+                tombstones.invalidate(id);
+            }
+            termWeights.forEach((term, weight) -> addPosting(term, id, weight));
+            return new Document(version, load.getStatus(), termWeights);
+        });
+    }
+
+    // Removes the load as of version; a newer indexed document stays, and older puts are ignored afterwards
+    public void remove(UUID id, long version) {
+        documents.compute(id, (key, indexed) -> {
+            if (indexed != null && indexed.version() > version) {
+                return indexed;
+            }
+            if (indexed != null) {
+                indexed.termWeights().keySet().forEach(term -> removePosting(term, key));
+            }
+            tombstones.asMap().merge(key, version, Math::max);
+            return null;
+        });
+    }
+
+    public void clear() {
+        tombstones.invalidateAll();
+        documents.clear();
+        postings.clear();
+        terms.clear();
+        deletions.clear();
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Loads matching every token of {@code query}, best first, skipping {@code offset} hits.
+     * {@code status} restricts the hits when not null. {@code total} counts all matching loads.
+     */
+    public Hits search(String query, LoadStatus status, int offset, int limit) {
+        List<List<Candidate>> tokens = new ArrayList<>();
+        for (String token : new LinkedHashSet<>(tokenize(query))) {
+            List<Candidate> candidates = candidates(token);
+            if (candidates.isEmpty()) {
+                return new Hits(List.of(), 0);
+            }
+            tokens.add(candidates);
+        }
+        if (tokens.isEmpty()) {
+            return new Hits(List.of(), 0);
+        }
+        // Start from the rarest token, then only probe the loads that are still in the running
+        tokens.sort(Comparator.comparingLong(this::postingCount));
+
+        Map<UUID, Double> scores = new HashMap<>();
+        for (Candidate candidate : tokens.get(0)) {
+            Map<UUID, Double> loads = postings.get(candidate.term());
+            if (loads == null) {
+                continue;
+            }
+            double idf = idf(loads.size());
+            loads.forEach((id, weight) -> {
+                if (status == null || hasStatus(id, status)) {
+                    scores.merge(id, candidate.match() * weight * idf, Math::max);
+                }
+            });
+        }
+        for (List<Candidate> token : tokens.subList(1, tokens.size())) {
+            Iterator<Map.Entry<UUID, Double>> running = scores.entrySet().iterator();
+            while (running.hasNext()) {
+                Map.Entry<UUID, Double> entry = running.next();
+                double best = bestScore(token, entry.getKey());
+                if (best > 0) {
+                    entry.setValue(entry.getValue() + best);
+                } else {
+                    running.remove();
+                }
+            }
+        }
+
+        // Min-heap of the best offset + limit hits
+        int wanted = offset + limit;
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score).thenComparing(Hit::id, Comparator.reverseOrder());
+        PriorityQueue<Hit> best = new PriorityQueue<>(wanted + 1, ranking);
+        scores.forEach((id, score) -> {
+            Hit hit = new Hit(id, score);
+            if (best.size() < wanted) {
+                best.add(hit);
+            } else if (ranking.compare(hit, best.peek()) > 0) {
+                best.poll();
+                best.add(hit);
+            }
+        });
+        List<Hit> ranked = new ArrayList<>(best);
+        ranked.sort(ranking.reversed());
+        List<Hit> page = offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+        return new Hits(page, scores.size());
+    }
+
+    // Lower-cased runs of letters and digits
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static Map<String, Double> termWeights(Load load) {
+        Map<String, Double> weights = new HashMap<>();
+        addField(weights, load.getProductType(), PRODUCT_TYPE_WEIGHT);
+        Facility facility = load.getFacility();
+        if (facility != null) {
+            addField(weights, facility.getLoadingPoint(), POINT_WEIGHT);
+            addField(weights, facility.getUnloadingPoint(), POINT_WEIGHT);
+        }
+        addField(weights, load.getComment(), COMMENT_WEIGHT);
+        return weights;
+    }
+
+    // A term counts once per field, however often it repeats there
+    private static void addField(Map<String, Double> weights, String text, double weight) {
+        new HashSet<>(tokenize(text)).forEach(term -> weights.merge(term, weight, Double::sum));
+    }
+
+    private List<Candidate> candidates(String token) {
+        Map<String, Double> matches = new HashMap<>();
+        if (postings.containsKey(token)) {
+            matches.put(token, 1.0);
+        }
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            int expansions = 0;
+            for (String term : terms.subSet(token, false, token + Character.MAX_VALUE, false)) {
+                if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                matches.putIfAbsent(term, PREFIX_MATCH);
+            }
+        }
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            Set<String> variants = new HashSet<>(deletionsOf(token));
+            variants.add(token);
+            for (String variant : variants) {
+                // The token with one deletion may itself be a term (an extra character was typed)
+                if (!variant.equals(token) && postings.containsKey(variant)) {
+                    matches.putIfAbsent(variant, FUZZY_MATCH);
+                }
+                for (String term : deletions.getOrDefault(variant, Set.of())) {
+                    if (isOneEditApart(token, term)) {
+                        matches.putIfAbsent(term, FUZZY_MATCH);
+                    }
+                }
+            }
+        }
+        List<Candidate> candidates = new ArrayList<>(matches.size());
+        matches.forEach((term, match) -> candidates.add(new Candidate(term, match)));
+        return candidates;
+    }
+
+    private double bestScore(List<Candidate> token, UUID id) {
+        double best = 0;
+        for (Candidate candidate : token) {
+            Map<UUID, Double> loads = postings.get(candidate.term());
+            Double weight = loads != null ? loads.get(id) : null;
+            if (weight != null) {
+                best = Math.max(best, candidate.match() * weight * idf(loads.size()));
+            }
+        }
+        return best;
+    }
+
+    private long postingCount(List<Candidate> token) {
+        long count = 0;
+        for (Candidate candidate : token) {
+            Map<UUID, Double> loads = postings.get(candidate.term());
+            count += loads != null ? loads.size() : 0;
+        }
+        return count;
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1 + (double) documents.size() / Math.max(1, documentFrequency));
+    }
+
+    private boolean hasStatus(UUID id, LoadStatus status) {
+        Document document = documents.get(id);
+        return document != null && document.status() == status;
+    }
+
+    private void addPosting(String term, UUID id, double weight) {
+        postings.compute(term, (key, loads) -> {
+            if (loads == null) {
+                loads = new ConcurrentHashMap<>();
+                terms.add(key);
+                for (String deletion : deletionsOf(key)) {
+                    deletions.computeIfAbsent(deletion, d -> ConcurrentHashMap.newKeySet()).add(key);
+                }
+            }
+            loads.put(id, weight);
+            return loads;
+        });
+    }
+
+    private void removePosting(String term, UUID id) {
+        postings.computeIfPresent(term, (key, loads) -> {
+            loads.remove(id);
+            if (!loads.isEmpty()) {
+                return loads;
+            }
+            terms.remove(key);
+            for (String deletion : deletionsOf(key)) {
+                deletions.computeIfPresent(deletion, (d, sources) -> {
+                    sources.remove(key);
+                    return sources.isEmpty() ? null : sources;
+                });
+            }
+            return null;
+        });
+    }
+
+    private static Set<String> deletionsOf(String term) {
+        if (term.length() < MIN_FUZZY_LENGTH - 1) {
+            return Set.of();
+        }
+        Set<String> variants = new HashSet<>(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            variants.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return variants;
+    }
+
+    // One insertion, deletion, substitution or transposition of adjacent characters
+    static boolean isOneEditApart(String a, String b) {
+        if (a.equals(b) || Math.abs(a.length() - b.length()) > 1) {
+            return false;
+        }
+        if (a.length() != b.length()) {
+            String shorter = a.length() < b.length() ? a : b;
+            String longer = a.length() < b.length() ? b : a;
+            int i = 0;
+            while (i < shorter.length() && shorter.charAt(i) == longer.charAt(i)) {
+                i++;
+            }
+            return shorter.regionMatches(i, longer, i + 1, shorter.length() - i);
+        }
+        int first = 0;
+        while (a.charAt(first) == b.charAt(first)) {
+            first++;
+        }
+        if (a.regionMatches(first + 1, b, first + 1, a.length() - first - 1)) {
+            return true;
+        }
+        return first + 1 < a.length()
+                && a.charAt(first) == b.charAt(first + 1) && a.charAt(first + 1) == b.charAt(first)
+                && a.regionMatches(first + 2, b, first + 2, a.length() - first - 2);
+    }
+}
@@ -1,66 +1,274 @@
 package com.kush.cargoProAssignment.service;
 
+import com.kush.cargoProAssignment.config.CacheConfig;
+import com.kush.cargoProAssignment.dto.BatchItemResultDTO;
+import com.kush.cargoProAssignment.dto.BatchResultDTO;
+import com.kush.cargoProAssignment.dto.CursorPageDTO;
+import com.kush.cargoProAssignment.dto.EntityVersionDTO;
 import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.dto.LoadDateFilterDTO;
+import com.kush.cargoProAssignment.dto.NearbyLoadDTO;
+import com.kush.cargoProAssignment.dto.NearbySearchDTO;
+import com.kush.cargoProAssignment.exceptions.BusinessException;
+import com.kush.cargoProAssignment.exceptions.PreconditionFailedException;
 import com.kush.cargoProAssignment.exceptions.ResourceNotFoundException;
+import com.kush.cargoProAssignment.mapper.LoadMapper;
+import com.kush.cargoProAssignment.model.Booking;
 import com.kush.cargoProAssignment.model.Load;
 import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import com.kush.cargoProAssignment.repository.LoadBookingCountsRepository;
 import com.kush.cargoProAssignment.repository.LoadRepository;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+// Every public method is timed as cargo.service{class, method}
+@Observed(name = "cargo.service")
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class LoadService {
 
+    static final int MAX_CURSOR_PAGE_SIZE = 100;
+    static final int MAX_BATCH_SIZE = 10_000;
+
+    // Matches hibernate.jdbc.batch_size so each flush sends full JDBC batches
+    static final int BATCH_FLUSH_SIZE = 50;
+
+    static final int MAX_SEARCH_PAGE_SIZE = 100;
+    // Deepest result a search page may reach; ranking keeps this many hits in memory
+    static final int MAX_SEARCH_RESULTS = 1000;
+
+    static final double MAX_NEARBY_RADIUS_KM = 500;
+    static final int MAX_NEARBY_RESULTS = 100;
+
     private final LoadRepository loadRepository;
-    private final ModelMapper modelMapper;
+    private final LoadBookingCountsRepository loadBookingCountsRepository;
+    private final LoadMapper loadMapper;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LoadSpatialIndex spatialIndex;
+    private final LoadSearchIndex searchIndex;
 
     public LoadDTO createLoad(LoadDTO loadDTO) {
-        Load load = modelMapper.map(loadDTO, Load.class);
+        Load load = loadMapper.toEntity(loadDTO);
         load.setStatus(LoadStatus.POSTED);
         Load savedLoad = loadRepository.save(load);
-        return modelMapper.map(savedLoad, LoadDTO.class);
+        eventPublisher.publishEvent(LoadChangedEvent.saved(savedLoad));
+        return loadMapper.toDto(savedLoad);
+    }
+
+    /**
+     * Validates and inserts loads one by one as they are read, flushing every {@link #BATCH_FLUSH_SIZE}
+     * so Hibernate sends the INSERTs as JDBC batches, and clearing the persistence context so memory
+     * stays flat for large batches. Invalid items are reported and skipped; the valid ones commit together.
+     */
+    public BatchResultDTO createLoads(Iterator<LoadDTO> loadDTOs) {
+        List<BatchItemResultDTO> results = new ArrayList<>();
+        List<Load> pending = new ArrayList<>(BATCH_FLUSH_SIZE);
+        List<BatchItemResultDTO> pendingResults = new ArrayList<>(BATCH_FLUSH_SIZE);
+        int created = 0;
+
+        for (int index = 0; loadDTOs.hasNext(); index++) {
+            if (index == MAX_BATCH_SIZE) {
+                throw new BusinessException("A batch may contain at most " + MAX_BATCH_SIZE + " loads");
+            }
+            LoadDTO loadDTO = loadDTOs.next();
+            Map<String, String> errors = validate(loadDTO);
+            if (!errors.isEmpty()) {
+                results.add(new BatchItemResultDTO(index, false, null, errors));
+                continue;
+            }
+
+            Load load = loadMapper.toEntity(loadDTO);
+            load.setStatus(LoadStatus.POSTED);
+            pending.add(load);
+            BatchItemResultDTO result = new BatchItemResultDTO(index, true, null, null);
+            pendingResults.add(result);
+            results.add(result);
+
+            if (pending.size() == BATCH_FLUSH_SIZE) {
+                created += insertBatch(pending, pendingResults);
+            }
+        }
+        created += insertBatch(pending, pendingResults);
+
+        return new BatchResultDTO(results.size(), created, results.size() - created, results);
+    }
+
+    private int insertBatch(List<Load> loads, List<BatchItemResultDTO> results) {
+        if (loads.isEmpty()) {
+            return 0;
+        }
+        loadRepository.saveAll(loads);
+        entityManager.flush();
+        for (int i = 0; i < loads.size(); i++) {
+            results.get(i).setId(loads.get(i).getId());
+            eventPublisher.publishEvent(LoadChangedEvent.saved(loads.get(i)));
+        }
+        entityManager.clear();
+
+        int inserted = loads.size();
+        loads.clear();
+        results.clear();
+        return inserted;
     }
 
-    public Page<LoadDTO> getLoads(String shipperId, String truckType, LoadStatus status, int page, int size) {
+    private Map<String, String> validate(LoadDTO loadDTO) {
+        if (loadDTO == null) {
+            return Map.of("load", "Load is required");
+        }
+        Map<String, String> errors = new TreeMap<>();
+        for (ConstraintViolation<LoadDTO> violation : validator.validate(loadDTO)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    // Rows are selected straight into DTOs; no Load is hydrated or dirty-checked
+    @Transactional(readOnly = true)
+    public Page<LoadDTO> getLoads(String shipperId, String truckType, LoadStatus status, LoadDateFilterDTO dates,
+                                  int page, int size) {
+        validate(dates);
         Pageable pageable = PageRequest.of(page - 1, size);
-        return loadRepository.findByFilters(shipperId, truckType, status, pageable)
-                .map(load -> modelMapper.map(load, LoadDTO.class));
+        return loadRepository.findDtosByFilters(shipperId, truckType, status, dates, pageable);
+    }
+
+    // The ids and versions of the page getLoads would return, in the same order and with the same total
+    @Transactional(readOnly = true)
+    public Page<EntityVersionDTO> getLoadVersions(String shipperId, String truckType, LoadStatus status,
+                                                  LoadDateFilterDTO dates, int page, int size) {
+        validate(dates);
+        return loadRepository.findVersionsByFilters(shipperId, truckType, status, dates, PageRequest.of(page - 1, size));
+    }
+
+    public CursorPageDTO<LoadDTO> getLoadsByCursor(String shipperId, String truckType, LoadStatus status,
+                                                   LoadDateFilterDTO dates, String cursor, int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BusinessException("Size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        validate(dates);
+        LoadCursor after = cursor == null || cursor.isBlank() ? null : LoadCursor.decode(cursor);
+
+        Slice<Load> slice = loadRepository.findByFiltersAfter(shipperId, truckType, status, dates,
+                after != null ? after.datePosted() : null,
+                after != null ? after.id() : null,
+                PageRequest.ofSize(size));
+
+        String nextCursor = slice.hasNext()
+                ? LoadCursor.of(slice.getContent().get(slice.getNumberOfElements() - 1)).encode()
+                : null;
+        return new CursorPageDTO<>(slice.map(loadMapper::toDto).getContent(),
+                slice.getNumberOfElements(), slice.hasNext(), nextCursor);
+    }
+
+    private static void validate(LoadDateFilterDTO dates) {
+        if (dates == null) {
+            return;
+        }
+        if (dates.getLoadingFrom() != null && dates.getLoadingTo() != null
+                && dates.getLoadingFrom().isAfter(dates.getLoadingTo())) {
+            throw new BusinessException("loadingFrom must not be after loadingTo");
+        }
+        if (dates.getUnloadingFrom() != null && dates.getUnloadingTo() != null
+                && dates.getUnloadingFrom().isAfter(dates.getUnloadingTo())) {
+            throw new BusinessException("unloadingFrom must not be after unloadingTo");
+        }
     }
 
+    // An entity read rather than a projection: findById is usually a second-level cache hit with no SELECT
+    @Cacheable(cacheNames = CacheConfig.LOADS, key = "#id")
+    @Transactional(readOnly = true)
     public LoadDTO getLoadById(UUID id) {
         Load load = findEntityById(id);
-        return modelMapper.map(load, LoadDTO.class);
+        return loadMapper.toDto(load);
+    }
+
+    // Version only, for If-None-Match revalidation; served from the second-level cache when the load is there
+    @Transactional(readOnly = true)
+    public Long getLoadVersion(UUID id) {
+        return findEntityById(id).getVersion();
     }
 
+    @CacheEvict(cacheNames = CacheConfig.LOADS, key = "#id")
     public LoadDTO updateLoad(UUID id, LoadDTO loadDTO) {
+        return updateLoad(id, loadDTO, null);
+    }
+
+    /**
+     * Updates the load only if it is still at one of {@code expectedVersions} ({@code null} skips the check).
+     * A concurrent update that commits after the check still fails, on the version at flush.
+     */
+    @CacheEvict(cacheNames = CacheConfig.LOADS, key = "#id")
+    public LoadDTO updateLoad(UUID id, LoadDTO loadDTO, Set<Long> expectedVersions) {
         Load existingLoad = findEntityById(id);
+        if (expectedVersions != null && !expectedVersions.contains(existingLoad.getVersion())) {
+            throw new PreconditionFailedException("Load " + id + " is at version " + existingLoad.getVersion()
+                    + ", not " + expectedVersions);
+        }
 
         // Update allowed fields (ID is auto-managed)
         existingLoad.setShipperId(loadDTO.getShipperId());
-        existingLoad.setFacility(modelMapper.map(loadDTO.getFacility(), existingLoad.getFacility().getClass()));
+        existingLoad.setFacility(loadMapper.toEntity(loadDTO.getFacility()));
         existingLoad.setProductType(loadDTO.getProductType());
         existingLoad.setTruckType(loadDTO.getTruckType());
         existingLoad.setNoOfTrucks(loadDTO.getNoOfTrucks());
         existingLoad.setWeight(loadDTO.getWeight());
         existingLoad.setComment(loadDTO.getComment());
 
-        Load updatedLoad = loadRepository.save(existingLoad);
-        return modelMapper.map(updatedLoad, LoadDTO.class);
+        // Flushed so the returned DTO (and its ETag) carries the new version
+        Load updatedLoad = loadRepository.saveAndFlush(existingLoad);
+        eventPublisher.publishEvent(LoadChangedEvent.saved(updatedLoad));
+        return loadMapper.toDto(updatedLoad);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.LOADS, key = "#id")
     public void deleteLoad(UUID id) {
         Load load = findEntityById(id);
+        // Bookings, then the counts row, then the load: the order every booking write takes them in
+        if (load.getBookings() != null) {
+            for (Booking booking : load.getBookings()) {
+                entityManager.remove(booking);
+                eventPublisher.publishEvent(BookingChangedEvent.deleted(booking));
+            }
+            entityManager.flush();
+        }
+        loadBookingCountsRepository.deleteCounts(id);
         loadRepository.delete(load);
+        eventPublisher.publishEvent(LoadChangedEvent.deleted(load));
+        evictBookings(load);
     }
 
     public Load findEntityById(UUID id) {
@@ -68,9 +276,175 @@ public class LoadService {
                 .orElseThrow(() -> new ResourceNotFoundException("Load not found with id: " + id));
     }
 
-    public void updateLoadStatus(UUID loadId, LoadStatus status) {
-        Load load = findEntityById(loadId);
-        load.setStatus(status);
-        loadRepository.save(load);
+    /**
+     * Sets the status on the managed load; the change is written at flush as a single
+     * {@code UPDATE ... WHERE id = ? AND version = ?}, which also refreshes the second-level cache entry.
+     * Nothing is written when the load already has the status.
+     */
+    @CacheEvict(cacheNames = CacheConfig.LOADS, key = "#load.id")
+    public void updateLoadStatus(Load load, LoadStatus status) {
+        if (load.getStatus() != status) {
+            load.setStatus(status);
+            eventPublisher.publishEvent(LoadChangedEvent.saved(load));
+        }
+    }
+
+    /**
+     * Sets the status only if the load row still has the version {@code load} was read with, and
+     * bumps the version either way so that concurrent transitions of the same load serialize.
+     */
+    @CacheEvict(cacheNames = CacheConfig.LOADS, key = "#load.id")
+    public void transitionStatus(Load load, LoadStatus status) {
+        try {
+            if (load.getStatus() != status) {
+                load.setStatus(status);
+                entityManager.flush();
+                eventPublisher.publishEvent(LoadChangedEvent.saved(load));
+            } else {
+                // Version-only UPDATE at commit, so the load row is held only while the transaction commits
+                entityManager.lock(load, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+            }
+        } catch (OptimisticLockException ex) {
+            throw new ObjectOptimisticLockingFailureException(Load.class, load.getId(), ex);
+        }
+    }
+
+    /**
+     * POSTED loads whose loading point is within the radius, nearest first. Candidates come from
+     * {@link LoadSpatialIndex}; the loads themselves are read back in one query and dropped if they
+     * are no longer POSTED, so a lagging index entry never surfaces a booked or deleted load.
+     */
+    @Transactional(readOnly = true)
+    public List<NearbyLoadDTO> findNearby(NearbySearchDTO search) {
+        validate(search);
+        List<LoadSpatialIndex.Match> matches = spatialIndex.search(search.getLatitude(), search.getLongitude(),
+                search.getRadiusKm(), nearbyFilter(search), search.getLimit());
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, Load> loads = loadRepository.findAllById(matches.stream().map(LoadSpatialIndex.Match::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Load::getId, Function.identity()));
+        List<NearbyLoadDTO> results = new ArrayList<>(matches.size());
+        for (LoadSpatialIndex.Match match : matches) {
+            Load load = loads.get(match.id());
+            if (load != null && load.getStatus() == LoadStatus.POSTED) {
+                results.add(new NearbyLoadDTO(loadMapper.toDto(load), match.distanceKm()));
+            }
+        }
+        return results;
+    }
+
+    private void validate(NearbySearchDTO search) {
+        if (search.getLatitude() == null || search.getLongitude() == null) {
+            throw new BusinessException("Latitude and longitude are required");
+        }
+        if (!isLatitude(search.getLatitude()) || !isLongitude(search.getLongitude())) {
+            throw new BusinessException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+        if (!isRadius(search.getRadiusKm()) || !isRadius(search.getDestinationRadiusKm())) {
+            throw new BusinessException("Radius must be greater than 0 and at most " + MAX_NEARBY_RADIUS_KM + " km");
+        }
+        if (search.getLimit() < 1 || search.getLimit() > MAX_NEARBY_RESULTS) {
+            throw new BusinessException("Limit must be between 1 and " + MAX_NEARBY_RESULTS);
+        }
+        if (search.getLoadingWithinHours() != null && search.getLoadingWithinHours() < 1) {
+            throw new BusinessException("Loading window must be at least 1 hour");
+        }
+        if ((search.getDestinationLatitude() == null) != (search.getDestinationLongitude() == null)) {
+            throw new BusinessException("Destination latitude and longitude must be given together");
+        }
+        if (search.getDestinationLatitude() != null
+                && (!isLatitude(search.getDestinationLatitude()) || !isLongitude(search.getDestinationLongitude()))) {
+            throw new BusinessException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+    }
+
+    private static boolean isLatitude(double latitude) {
+        return latitude >= -90 && latitude <= 90;
+    }
+
+    private static boolean isLongitude(double longitude) {
+        return longitude >= -180 && longitude <= 180;
+    }
+
+    // NaN fails every comparison, so it has to be ruled out explicitly
+    private static boolean isRadius(double radiusKm) {
+        return Double.isFinite(radiusKm) && radiusKm > 0 && radiusKm <= MAX_NEARBY_RADIUS_KM;
+    }
+
+    private static Predicate<LoadSpatialIndex.Entry> nearbyFilter(NearbySearchDTO search) {
+        Predicate<LoadSpatialIndex.Entry> filter = entry -> true;
+        if (search.getTruckType() != null) {
+            filter = filter.and(entry -> search.getTruckType().equals(entry.truckType()));
+        }
+        if (search.getLoadingWithinHours() != null) {
+            LocalDateTime from = LocalDateTime.now();
+            LocalDateTime to = from.plusHours(search.getLoadingWithinHours());
+            filter = filter.and(entry -> !entry.loadingDate().isBefore(from) && !entry.loadingDate().isAfter(to));
+        }
+        if (search.getDestinationLatitude() != null) {
+            double latitude = search.getDestinationLatitude();
+            double longitude = search.getDestinationLongitude();
+            double radiusKm = search.getDestinationRadiusKm();
+            filter = filter.and(entry -> entry.unloadingLatitude() != null && entry.unloadingLongitude() != null
+                    && LoadSpatialIndex.distanceKm(latitude, longitude,
+                    entry.unloadingLatitude(), entry.unloadingLongitude()) <= radiusKm);
+        }
+        return filter;
+    }
+
+    /**
+     * Ranked full-text search over product type, loading/unloading points and comment; see
+     * {@link LoadSearchIndex} for the matching rules. Hits are read back in one query, in rank order.
+     */
+    @Transactional(readOnly = true)
+    public Page<LoadDTO> searchLoads(String query, LoadStatus status, int page, int size) {
+        if (query == null || LoadSearchIndex.tokenize(query).isEmpty()) {
+            throw new BusinessException("Search query must contain at least one letter or digit");
+        }
+        if (page < 1 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new BusinessException("Page must be at least 1 and size between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        if ((long) page * size > MAX_SEARCH_RESULTS) {
+            throw new BusinessException("Search results are limited to the first " + MAX_SEARCH_RESULTS);
+        }
+
+        LoadSearchIndex.Hits hits = searchIndex.search(query, status, (page - 1) * size, size);
+        Map<UUID, Load> loads = loadRepository.findAllById(hits.hits().stream().map(LoadSearchIndex.Hit::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Load::getId, Function.identity()));
+        List<LoadDTO> content = new ArrayList<>(hits.hits().size());
+        for (LoadSearchIndex.Hit hit : hits.hits()) {
+            Load load = loads.get(hit.id());
+            if (load != null) {
+                content.add(loadMapper.toDto(load));
+            }
+        }
+        return new PageImpl<>(content, PageRequest.of(page - 1, size), hits.total());
+    }
+
+    // Streams every load into fresh in-memory indexes; run by LoadIndexInitializer before the web server starts
+    @Transactional(readOnly = true)
+    public void rebuildIndexes() {
+        spatialIndex.clear();
+        searchIndex.clear();
+        try (Stream<Load> loads = loadRepository.streamAll()) {
+            loads.forEach(load -> {
+                if (LoadSpatialIndex.isIndexable(load)) {
+                    spatialIndex.put(LoadSpatialIndex.Entry.of(load));
+                }
+                searchIndex.put(load);
+                entityManager.detach(load);
+            });
+        }
+    }
+
+    private void evictBookings(Load load) {
+        Cache bookings = cacheManager.getCache(CacheConfig.BOOKINGS);
+        if (bookings != null && load.getBookings() != null) {
+            load.getBookings().forEach(booking -> bookings.evict(booking.getId()));
+        }
     }
 }
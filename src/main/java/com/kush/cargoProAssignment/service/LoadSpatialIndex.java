@@ -0,0 +1,224 @@
+package com.kush.cargoProAssignment.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kush.cargoProAssignment.model.Facility;
+import com.kush.cargoProAssignment.model.Load;
+import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * In-memory grid of the POSTED loads that have loading coordinates, bucketed into
+ * {@link #CELL_DEGREES}-degree cells (a fixed-precision geohash). A radius search only visits
+ * the cells overlapping the circle's bounding box, so its cost depends on how many loads are
+ * near the point rather than on how many are posted.
+ * <p>
+ * Kept current from {@link LoadChangedEvent}s after each commit and rebuilt at startup by
+ * {@link LoadService#rebuildIndexes()}. Entries can briefly lag the database, so callers
+ * re-check the loads they read back.
+ */
+@Component
+public class LoadSpatialIndex {
+
+    // ~28 km of latitude per cell
+    static final double CELL_DEGREES = 0.25;
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final int ROWS = (int) (180 / CELL_DEGREES);
+    private static final int COLUMNS = (int) (360 / CELL_DEGREES);
+
+    // How long a removal is remembered; far longer than two after-commit events of one load can be apart
+    static final Duration TOMBSTONE_TTL = Duration.ofMinutes(10);
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Map<UUID, Entry>> cells = new ConcurrentHashMap<>();
+
+    // Version of each recently removed load, so a late event for an older version cannot bring it back
+    private final Cache<UUID, Long> tombstones = Caffeine.newBuilder().expireAfterWrite(TOMBSTONE_TTL).build();
+
+    public record Entry(UUID id, long version, double latitude, double longitude,
+                        Double unloadingLatitude, Double unloadingLongitude,
+                        String truckType, LocalDateTime loadingDate) {
+
+        static Entry of(Load load) {
+            Facility facility = load.getFacility();
+            return new Entry(load.getId(), load.getVersion() != null ? load.getVersion() : 0,
+                    facility.getLoadingLatitude(), facility.getLoadingLongitude(),
+                    facility.getUnloadingLatitude(), facility.getUnloadingLongitude(),
+                    load.getTruckType(), facility.getLoadingDate());
+        }
+    }
+
+    public record Match(UUID id, double distanceKm) {
+    }
+
+    public static boolean isIndexable(Load load) {
+        Facility facility = load.getFacility();
+        return load.getStatus() == LoadStatus.POSTED && facility != null
+                && facility.getLoadingLatitude() != null && facility.getLoadingLongitude() != null;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLoadChanged(LoadChangedEvent event) {
+        Load load = event.load();
+        if (!event.deleted() && isIndexable(load)) {
+            put(Entry.of(load));
+        } else {
+            remove(load.getId(), load.getVersion() != null ? load.getVersion() : 0);
+        }
+    }
+
+    /**
+     * Adds or moves the entry. An entry older than the indexed one, or no newer than the load's
+     * removal, is ignored, since after-commit events of concurrent transactions can arrive out of order.
+     */
+    public void put(Entry entry) {
+        entries.compute(entry.id(), (id, indexed) -> {
+            if (indexed != null && indexed.version() > entry.version()) {
+                return indexed;
+            }
+            if (indexed != null) {
+                removeFromCell(indexed);
+            } else {
+                Long removed = tombstones.getIfPresent(id);
+                if (removed != null && removed >= entry.version()) {
+                    return null;
+                }
+                tombstones.invalidate(id);
+            }
+            cells.compute(cellOf(entry.latitude(), entry.longitude()), (cell, members) -> {
+                Map<UUID, Entry> updated = members != null ? members : new ConcurrentHashMap<>();
+                updated.put(id, entry);
+                return updated;
+            });
+            return entry;
+        });
+    }
+
+    /**
+     * Removes the load as of {@code version}: an indexed entry that is newer stays, and a later
+     * {@link #put} of this version or an older one is ignored.
+     */
+    public void remove(UUID id, long version) {
+        entries.compute(id, (key, indexed) -> {
+            if (indexed != null && indexed.version() > version) {
+                return indexed;
+            }
+            if (indexed != null) {
+                removeFromCell(indexed);
+            }
+            tombstones.asMap().merge(key, version, Math::max);
+            return null;
+        });
+    }
+
+    public void clear() {
+        tombstones.invalidateAll();
+        entries.clear();
+        cells.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Up to {@code limit} entries within {@code radiusKm} of the point that match {@code filter},
+     * nearest first.
+     */
+    public List<Match> search(double latitude, double longitude, double radiusKm, Predicate<Entry> filter, int limit) {
+        double latitudeSpan = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double minLatitude = Math.max(-90, latitude - latitudeSpan);
+        double maxLatitude = Math.min(90, latitude + latitudeSpan);
+
+        // Longitude degrees shrink towards the poles; the widest span is at the latitude nearest one
+        double widestLatitude = Math.max(Math.abs(minLatitude), Math.abs(maxLatitude));
+        double longitudeSpan = widestLatitude >= 90 ? 180
+                : latitudeSpan / Math.cos(Math.toRadians(widestLatitude));
+
+        int firstRow = row(minLatitude);
+        int lastRow = row(maxLatitude);
+        int firstColumn;
+        int lastColumn;
+        if (longitudeSpan >= 180 || 2 * longitudeSpan + CELL_DEGREES >= 360) {
+            firstColumn = 0;
+            lastColumn = COLUMNS - 1;
+        } else {
+            // May run past the antimeridian; wrapped below
+            firstColumn = (int) Math.floor((longitude - longitudeSpan + 180) / CELL_DEGREES);
+            lastColumn = (int) Math.floor((longitude + longitudeSpan + 180) / CELL_DEGREES);
+        }
+
+        // Max-heap on distance holding the nearest `limit` matches seen so far
+        PriorityQueue<Match> nearest = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble(Match::distanceKm).reversed());
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                Map<UUID, Entry> members = cells.get(cellKey(row, Math.floorMod(column, COLUMNS)));
+                if (members == null) {
+                    continue;
+                }
+                for (Entry entry : members.values()) {
+                    // Cheap rejections first; the haversine only runs for entries that pass the filter
+                    if (entry.latitude() < minLatitude || entry.latitude() > maxLatitude || !filter.test(entry)) {
+                        continue;
+                    }
+                    double distance = distanceKm(latitude, longitude, entry.latitude(), entry.longitude());
+                    if (distance > radiusKm || (nearest.size() == limit && distance >= nearest.peek().distanceKm())) {
+                        continue;
+                    }
+                    nearest.add(new Match(entry.id(), distance));
+                    if (nearest.size() > limit) {
+                        nearest.poll();
+                    }
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(nearest);
+        matches.sort(Comparator.comparingDouble(Match::distanceKm));
+        return matches;
+    }
+
+    // Haversine great-circle distance
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double deltaLatitude = Math.toRadians(latitude2 - latitude1);
+        double deltaLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(deltaLatitude / 2) * Math.sin(deltaLatitude / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(deltaLongitude / 2) * Math.sin(deltaLongitude / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void removeFromCell(Entry entry) {
+        cells.computeIfPresent(cellOf(entry.latitude(), entry.longitude()), (cell, members) -> {
+            members.remove(entry.id());
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private static long cellOf(double latitude, double longitude) {
+        return cellKey(row(latitude), Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), COLUMNS));
+    }
+
+    private static int row(double latitude) {
+        return Math.min(ROWS - 1, (int) Math.floor((latitude + 90) / CELL_DEGREES));
+    }
+
+    private static long cellKey(int row, int column) {
+        return (long) row * COLUMNS + column;
+    }
+}
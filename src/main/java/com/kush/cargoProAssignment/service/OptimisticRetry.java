@@ -0,0 +1,63 @@
+package com.kush.cargoProAssignment.service;
+
+import com.kush.cargoProAssignment.exceptions.ConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in a fresh transaction and re-runs it when it loses an optimistic
+ * locking race, up to {@code booking.retry.max-attempts} times with jittered exponential backoff.
+ * When the caller already has a transaction the work joins it and runs once, since a failed
+ * transaction cannot be retried from inside.
+ */
+@Component
+public class OptimisticRetry {
+
+    private final TransactionOperations transactionOperations;
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public OptimisticRetry(TransactionOperations transactionOperations,
+                           @Value("${booking.retry.max-attempts:5}") int maxAttempts,
+                           @Value("${booking.retry.backoff:10ms}") Duration backoff) {
+        this.transactionOperations = transactionOperations;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionOperations.execute(status -> work.get());
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    throw new ConflictException("Gave up after " + attempt + " concurrent modification attempts");
+                }
+                pause(attempt);
+            }
+        }
+    }
+
+    private void pause(int attempt) {
+        long base = backoff.toMillis() << (attempt - 1);
+        if (base <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(base / 2, base + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while retrying a concurrent modification");
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.kush.cargoProAssignment.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kush.cargoProAssignment.mapper.BookingMapper;
+import com.kush.cargoProAssignment.mapper.LoadMapper;
+import com.kush.cargoProAssignment.model.OutboxEvent;
+import com.kush.cargoProAssignment.model.enums.BookingStatus;
+import com.kush.cargoProAssignment.repository.OutboxEventRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes an {@link OutboxEvent} for every load and booking changed by a transaction, in that
+ * transaction, so an event exists exactly when its change commits. Changes are collected as they
+ * are published and written just before commit, once per entity with its final state and version;
+ * the inserts go out in the commit's JDBC batches. Relaying happens later, in {@link OutboxRelay}.
+ * <p>
+ * Nothing is recorded when no {@link OutboxSink} is configured: the relay would never drain the rows.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxRecorder {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final LoadMapper loadMapper;
+    private final BookingMapper bookingMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final List<OutboxSink> sinks;
+
+    private record Key(String aggregateType, UUID id) {
+    }
+
+    // Payload of a booking rejected in bulk, whose full state was never loaded
+    record Rejection(UUID id, UUID loadId, BookingStatus status) {
+    }
+
+    @EventListener
+    public void onLoadChanged(LoadChangedEvent event) {
+        pendingChanges().put(new Key(OutboxEvent.LOAD, event.load().getId()), event);
+    }
+
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        pendingChanges().put(new Key(OutboxEvent.BOOKING, event.booking().getId()), event);
+    }
+
+    @EventListener
+    public void onBookingsRejected(BookingsRejectedEvent event) {
+        Map<Key, Object> changes = pendingChanges();
+        for (UUID id : event.bookingIds()) {
+            changes.put(new Key(OutboxEvent.BOOKING, id), event);
+        }
+    }
+
+    // The changes of the current transaction, bound to it on the first change
+    @SuppressWarnings("unchecked")
+    private Map<Key, Object> pendingChanges() {
+        Map<Key, Object> changes = (Map<Key, Object>) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            // Outside a transaction nothing is committed, and with no sink nothing would be relayed
+            if (!TransactionSynchronizationManager.isSynchronizationActive() || sinks.isEmpty()) {
+                return new LinkedHashMap<>();
+            }
+            Map<Key, Object> bound = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(bound);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OutboxRecorder.this);
+                }
+            });
+            changes = bound;
+        }
+        return changes;
+    }
+
+    private void write(Map<Key, Object> changes) {
+        // Assigns the versions of pending updates, so payloads carry what is about to commit. Failures are
+        // translated like the commit's own flush would be, so OptimisticRetry still sees version conflicts
+        try {
+            entityManager.flush();
+        } catch (PersistenceException ex) {
+            DataAccessException translated = EntityManagerFactoryUtils.convertJpaAccessExceptionIfPossible(ex);
+            throw translated != null ? translated : ex;
+        }
+        List<OutboxEvent> events = new ArrayList<>(changes.size());
+        changes.forEach((key, change) -> events.add(switch (change) {
+            case LoadChangedEvent load -> new OutboxEvent(key.aggregateType(), key.id(),
+                    load.deleted() ? OutboxEvent.DELETED : OutboxEvent.SAVED, json(loadMapper.toDto(load.load())));
+            case BookingChangedEvent booking -> new OutboxEvent(key.aggregateType(), key.id(),
+                    booking.deleted() ? OutboxEvent.DELETED : OutboxEvent.SAVED,
+                    json(bookingMapper.toDto(booking.booking())));
+            case BookingsRejectedEvent rejected -> new OutboxEvent(key.aggregateType(), key.id(), OutboxEvent.REJECTED,
+                    json(new Rejection(key.id(), rejected.loadId(), BookingStatus.REJECTED)));
+            default -> throw new IllegalStateException("Unexpected change " + change);
+        }));
+        outboxEventRepository.saveAll(events);
+    }
+
+    private String json(Object dto) {
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
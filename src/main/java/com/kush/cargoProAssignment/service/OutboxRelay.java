@@ -0,0 +1,104 @@
+package com.kush.cargoProAssignment.service;
+
+import com.kush.cargoProAssignment.model.OutboxEvent;
+import com.kush.cargoProAssignment.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drains the outbox to every {@link OutboxSink} in the background, so request transactions only pay
+ * for the outbox insert. Each batch of up to {@code outbox.relay.batch-size} events is read, handed to
+ * the sinks and deleted in one transaction: a sink failure rolls the batch back for the next run, and
+ * other instances skip the locked rows rather than relaying them twice.
+ * <p>
+ * With no sink configured {@link OutboxRecorder} records nothing and the relay does nothing.
+ */
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSink> sinks;
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter relayed;
+    private final Counter failures;
+    private final Timer batchTimer;
+    private final Timer lag;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, List<OutboxSink> sinks,
+                       TransactionOperations transactionOperations, MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${outbox.relay.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.relayed = Counter.builder("cargo.outbox.relayed")
+                .description("Outbox events handed to every sink")
+                .register(meterRegistry);
+        this.failures = Counter.builder("cargo.outbox.failures")
+                .description("Relay batches rolled back because a sink failed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("cargo.outbox.batch")
+                .description("Reading, publishing and deleting one batch")
+                .register(meterRegistry);
+        this.lag = Timer.builder("cargo.outbox.lag")
+                .description("Time from an event's commit to its relay")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:500ms}")
+    public void relay() {
+        if (sinks.isEmpty()) {
+            return;
+        }
+        // A full batch means more are probably waiting; the cap keeps one run from starving the scheduler
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<OutboxEvent> events;
+            try {
+                events = batchTimer.record(() -> transactionOperations.execute(status -> relayBatch()));
+            } catch (RuntimeException ex) {
+                // Rethrown for the scheduler to log; the next run retries the same batch
+                failures.increment();
+                throw ex;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            events.forEach(event -> lag.record(Duration.between(event.getCreatedAt(), now)));
+            relayed.increment(events.size());
+            if (events.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private List<OutboxEvent> relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findOldestForRelay(Limit.of(batchSize));
+        if (events.isEmpty()) {
+            return events;
+        }
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.publish(events);
+            } catch (RuntimeException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new IllegalStateException("Outbox sink " + sink.getClass().getSimpleName() + " failed", ex);
+            }
+        }
+        outboxEventRepository.deleteAllInBatch(events);
+        return events;
+    }
+}
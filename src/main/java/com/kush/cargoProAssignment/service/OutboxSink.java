@@ -0,0 +1,15 @@
+package com.kush.cargoProAssignment.service;
+
+import com.kush.cargoProAssignment.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * A destination for relayed outbox events, such as a message broker. Every {@code OutboxSink} bean
+ * receives each batch, oldest event first. Delivery is at least once: if any sink throws, the
+ * batch stays in the outbox and is offered to every sink again on the next run.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,29 @@
+-- Baseline schema, matching what Hibernate generated under ddl-auto: update.
+CREATE TABLE IF NOT EXISTS loads (
+    id              UUID         NOT NULL,
+    shipper_id      VARCHAR(255) NOT NULL,
+    loading_point   VARCHAR(255) NOT NULL,
+    unloading_point VARCHAR(255) NOT NULL,
+    loading_date    TIMESTAMP(6) NOT NULL,
+    unloading_date  TIMESTAMP(6) NOT NULL,
+    product_type    VARCHAR(255) NOT NULL,
+    truck_type      VARCHAR(255) NOT NULL,
+    no_of_trucks    INTEGER      NOT NULL,
+    weight          FLOAT(53)    NOT NULL,
+    comment         VARCHAR(255),
+    date_posted     TIMESTAMP(6) NOT NULL,
+    status          VARCHAR(255) NOT NULL CHECK (status IN ('POSTED', 'BOOKED', 'CANCELLED')),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id             UUID         NOT NULL,
+    load_id        UUID         NOT NULL,
+    transporter_id VARCHAR(255) NOT NULL,
+    proposed_rate  FLOAT(53)    NOT NULL,
+    comment        VARCHAR(255),
+    status         VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'ACCEPTED', 'REJECTED')),
+    requested_at   TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_bookings_load FOREIGN KEY (load_id) REFERENCES loads (id)
+);
@@ -0,0 +1,31 @@
+-- Composite indexes for the predicates built by LoadSpecifications / BookingSpecifications.
+-- Equality columns lead; the trailing (date_posted, id) lets cursor pages (GET /load?cursor=)
+-- read rows in keyset order without a sort step. Keep in sync with the @Table indexes on the entities.
+CREATE INDEX IF NOT EXISTS idx_loads_shipper_status
+    ON loads (shipper_id, status, date_posted DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_loads_truck_type_status
+    ON loads (truck_type, status, date_posted DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_loads_date_posted_id
+    ON loads (date_posted DESC, id DESC);
+
+-- Leading load_id also covers the foreign key: findByLoad, existsByLoadAndStatus and cascading deletes.
+CREATE INDEX IF NOT EXISTS idx_bookings_load_status
+    ON bookings (load_id, status);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_transporter_status
+    ON bookings (transporter_id, status);
+
+-- Partial indexes for the active statuses. Cancelled loads and rejected bookings pile up over
+-- time but are rarely queried, so these stay small. The planner only picks them when the status
+-- value is known at plan time (custom plans), which is the default for the first executions of a
+-- prepared statement and whenever the generic plan is not cheaper.
+CREATE INDEX IF NOT EXISTS idx_loads_posted_date_posted
+    ON loads (date_posted DESC, id DESC) WHERE status = 'POSTED';
+
+CREATE INDEX IF NOT EXISTS idx_bookings_pending_load
+    ON bookings (load_id, proposed_rate) WHERE status = 'PENDING';
+
+CREATE INDEX IF NOT EXISTS idx_bookings_accepted_load
+    ON bookings (load_id) WHERE status = 'ACCEPTED';
@@ -0,0 +1,15 @@
+ALTER TABLE loads ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Loads accepted more than once before the index existed keep their earliest ACCEPTED booking; the others are
+-- REJECTED so the index below can be built
+UPDATE bookings SET status = 'REJECTED', version = version + 1
+WHERE id IN (SELECT id
+             FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY load_id ORDER BY requested_at, id) AS accepted_rank
+                   FROM bookings
+                   WHERE status = 'ACCEPTED') accepted
+             WHERE accepted_rank > 1);
+
+-- At most one ACCEPTED booking per load, enforced by the database as a backstop for BookingService.acceptBooking
+DROP INDEX IF EXISTS idx_bookings_accepted_load;
+CREATE UNIQUE INDEX idx_bookings_accepted_load ON bookings (load_id) WHERE status = 'ACCEPTED';
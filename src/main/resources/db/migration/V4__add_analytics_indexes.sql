@@ -0,0 +1,4 @@
+-- Covers GET /analytics/rates: AVG/MIN(proposed_rate) GROUP BY load_id is answered by an index-only scan,
+-- already in load_id order. Keep in sync with the @Table indexes on Booking.
+CREATE INDEX IF NOT EXISTS idx_bookings_load_rate
+    ON bookings (load_id, proposed_rate);
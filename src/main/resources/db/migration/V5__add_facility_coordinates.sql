@@ -0,0 +1,6 @@
+-- Optional facility coordinates for GET /load/nearby. The radius search itself runs on the
+-- in-process grid (LoadSpatialIndex), which is rebuilt from POSTED loads at startup.
+ALTER TABLE loads ADD COLUMN IF NOT EXISTS loading_latitude DOUBLE PRECISION;
+ALTER TABLE loads ADD COLUMN IF NOT EXISTS loading_longitude DOUBLE PRECISION;
+ALTER TABLE loads ADD COLUMN IF NOT EXISTS unloading_latitude DOUBLE PRECISION;
+ALTER TABLE loads ADD COLUMN IF NOT EXISTS unloading_longitude DOUBLE PRECISION;
@@ -0,0 +1,16 @@
+-- Date-range filters of GET /load (loadingFrom/loadingTo, unloadingFrom/unloadingTo).
+-- The common transporter query is "POSTED loads loading between X and Y": equality on status first,
+-- then the range, so the matching rows are one contiguous slice of the index.
+-- Keep in sync with the @Table indexes on Load.
+CREATE INDEX IF NOT EXISTS idx_loads_status_loading_date
+    ON loads (status, loading_date);
+
+-- Loads are posted shortly before they load and unload, so both dates rise with insertion order and
+-- the table's physical order follows them. BRIN indexes keep one summary per block range: a few pages
+-- for the whole table, cheap to maintain on insert, and enough to skip the blocks outside a range.
+-- They also combine (bitmap AND) with the shipper and truck type indexes.
+CREATE INDEX IF NOT EXISTS idx_loads_loading_date_brin
+    ON loads USING brin (loading_date);
+
+CREATE INDEX IF NOT EXISTS idx_loads_unloading_date_brin
+    ON loads USING brin (unloading_date);
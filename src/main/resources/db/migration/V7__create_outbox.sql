@@ -0,0 +1,14 @@
+-- Transactional outbox: load and booking changes are inserted here by the transaction that makes them
+-- and relayed to the configured sinks by OutboxRelay, oldest first, then deleted.
+-- Increment matches the allocationSize of OutboxEvent, which hands out 50 ids per nextval.
+CREATE SEQUENCE IF NOT EXISTS outbox_events_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id             BIGINT       NOT NULL,
+    aggregate_type VARCHAR(32)  NOT NULL,
+    aggregate_id   UUID         NOT NULL,
+    event_type     VARCHAR(32)  NOT NULL,
+    payload        TEXT         NOT NULL,
+    created_at     TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,21 @@
+-- Bookings per load and status, maintained by BookingService with relative upserts so that deleting a
+-- booking can recompute the load's status from one row instead of probing the bookings table.
+-- Rows go with their load; loads without bookings have no row until their first booking.
+CREATE TABLE IF NOT EXISTS load_booking_counts (
+    load_id  UUID   NOT NULL,
+    pending  BIGINT NOT NULL DEFAULT 0,
+    accepted BIGINT NOT NULL DEFAULT 0,
+    rejected BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (load_id),
+    CONSTRAINT fk_load_booking_counts_load FOREIGN KEY (load_id) REFERENCES loads (id) ON DELETE CASCADE
+);
+
+-- Counts for the bookings that exist already
+INSERT INTO load_booking_counts (load_id, pending, accepted, rejected)
+SELECT load_id,
+       COUNT(*) FILTER (WHERE status = 'PENDING'),
+       COUNT(*) FILTER (WHERE status = 'ACCEPTED'),
+       COUNT(*) FILTER (WHERE status = 'REJECTED')
+FROM bookings
+GROUP BY load_id
+ON CONFLICT (load_id) DO NOTHING;
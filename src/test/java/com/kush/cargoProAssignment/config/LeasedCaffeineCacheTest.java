@@ -0,0 +1,80 @@
+package com.kush.cargoProAssignment.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeasedCaffeineCacheTest {
+
+    private LeasedCaffeineCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new LeasedCaffeineCache("loads", Caffeine.newBuilder().build(), true, Duration.ofSeconds(10));
+    }
+
+    @Test
+    void putAfterMiss_shouldBeStored() {
+        assertNull(cache.get("id"));
+        cache.put("id", "v1");
+
+        assertEquals("v1", cache.get("id").get());
+    }
+
+    @Test
+    void putAfterEviction_shouldBeDropped() {
+        // The reader misses and loads v1, then a write commits v2 and evicts before the reader's put lands
+        assertNull(cache.get("id"));
+        cache.evict("id");
+        cache.put("id", "v1");
+
+        assertNull(cache.get("id"));
+        cache.put("id", "v2");
+        assertEquals("v2", cache.get("id").get());
+    }
+
+    @Test
+    void putAfterClear_shouldBeDropped() {
+        assertNull(cache.get("id"));
+        cache.clear();
+        cache.put("id", "v1");
+
+        assertNull(cache.get("id"));
+    }
+
+    @Test
+    void putWithoutMissOnThisThread_shouldBeDropped() throws Exception {
+        CompletableFuture.runAsync(() -> cache.get("id")).get();
+        cache.put("id", "v1");
+
+        assertNull(cache.get("id"));
+    }
+
+    @Test
+    void putAfterExpiredLease_shouldBeDropped() {
+        cache = new LeasedCaffeineCache("loads", Caffeine.newBuilder().build(), true, Duration.ZERO);
+
+        assertNull(cache.get("id"));
+        cache.put("id", "v1");
+
+        assertNull(cache.get("id"));
+    }
+
+    @Test
+    void evictionAfterAnotherReadersPut_shouldRevokeThisReadersLease() throws Exception {
+        assertNull(cache.get("id"));
+        CompletableFuture.runAsync(() -> {
+            assertNull(cache.get("id"));
+            cache.put("id", "v1");
+        }).get();
+        cache.evict("id");
+        cache.put("id", "v1");
+
+        assertNull(cache.get("id"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.kush.cargoProAssignment.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.dto.FacilityDTO;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.repository.BookingRepository;
+import com.kush.cargoProAssignment.repository.LoadRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAllInBatch();
+        loadRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void prometheus_shouldExposeServiceRepositoryPoolAndHibernateMetrics() throws Exception {
+        LoadDTO load = objectMapper.readValue(mockMvc.perform(post("/load")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(load())))
+                .andReturn().getResponse().getContentAsString(), LoadDTO.class);
+        BookingDTO booking = new BookingDTO();
+        booking.setLoadId(load.getId());
+        booking.setTransporterId("T1");
+        booking.setProposedRate(1200.0);
+        mockMvc.perform(post("/booking")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(booking)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/load").param("shipperId", "SHIPPER001").param("status", "BOOKED"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "cargo_service_seconds_count{class=\"com.kush.cargoProAssignment.service.LoadService\"")))
+                .andExpect(content().string(containsString("method=\"createBooking\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("hikaricp_connections_max")))
+                .andExpect(content().string(containsString("hibernate_second_level_cache_requests")))
+                // Request histograms, tagged by the filters the request used
+                .andExpect(content().string(containsString("filters=\"shipperId+status\"")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")));
+    }
+
+    private LoadDTO load() {
+        FacilityDTO facility = new FacilityDTO();
+        facility.setLoadingPoint("Delhi");
+        facility.setUnloadingPoint("Mumbai");
+        facility.setLoadingDate(LocalDateTime.now().plusDays(1));
+        facility.setUnloadingDate(LocalDateTime.now().plusDays(3));
+
+        LoadDTO load = new LoadDTO();
+        load.setShipperId("SHIPPER001");
+        load.setFacility(facility);
+        load.setProductType("Electronics");
+        load.setTruckType("Container");
+        load.setNoOfTrucks(2);
+        load.setWeight(5000.0);
+        return load;
+    }
+}
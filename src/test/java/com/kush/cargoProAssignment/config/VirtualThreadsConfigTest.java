@@ -0,0 +1,38 @@
+package com.kush.cargoProAssignment.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"VIRTUAL_THREADS=true", "DB_POOL_SIZE=7"})
+@ActiveProfiles("test")
+class VirtualThreadsConfigTest {
+
+    @Autowired
+    private WebServerApplicationContext context;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void virtualThreadMode_shouldRunTomcatRequestsOnVirtualThreads() {
+        TomcatWebServer webServer = (TomcatWebServer) context.getWebServer();
+        assertInstanceOf(VirtualThreadExecutor.class,
+                webServer.getTomcat().getConnector().getProtocolHandler().getExecutor());
+    }
+
+    @Test
+    void poolSize_shouldFollowConfiguration() {
+        assertEquals(7, ((HikariDataSource) dataSource).getMaximumPoolSize());
+    }
+}
@@ -0,0 +1,81 @@
+package com.kush.cargoProAssignment.controller;
+
+import com.kush.cargoProAssignment.controllers.AnalyticsController;
+import com.kush.cargoProAssignment.dto.LoadRateSummaryDTO;
+import com.kush.cargoProAssignment.dto.LoadSummaryDTO;
+import com.kush.cargoProAssignment.exceptions.BusinessException;
+import com.kush.cargoProAssignment.service.AnalyticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AnalyticsController.class)
+class AnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        public AnalyticsService analyticsService() {
+            return mock(AnalyticsService.class);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        reset(analyticsService);
+    }
+
+    @Test
+    void getLoadSummaryByShipper_shouldReturnOneRowPerShipper() throws Exception {
+        when(analyticsService.getLoadSummaryByShipper())
+                .thenReturn(List.of(new LoadSummaryDTO("shipper1", 3L, 1L, 1L, 1L, 400.0, 5L)));
+
+        mockMvc.perform(get("/analytics/loads/by-shipper"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].key").value("shipper1"))
+                .andExpect(jsonPath("$[0].bookedLoads").value(1))
+                .andExpect(jsonPath("$[0].totalWeight").value(400.0));
+    }
+
+    @Test
+    void getRateSummaryByLoad_shouldPassFiltersAndPaging() throws Exception {
+        UUID loadId = UUID.randomUUID();
+        when(analyticsService.getRateSummaryByLoad(eq("shipper1"), isNull(), eq(2), eq(50)))
+                .thenReturn(new PageImpl<>(List.of(new LoadRateSummaryDTO(loadId, 2L, 400.0, 300.0))));
+
+        mockMvc.perform(get("/analytics/rates").param("shipperId", "shipper1").param("page", "2").param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].loadId").value(loadId.toString()))
+                .andExpect(jsonPath("$.content[0].minRate").value(300.0));
+    }
+
+    @Test
+    void getRateSummaryByLoad_shouldReturnBadRequest_whenSizeIsOutOfRange() throws Exception {
+        when(analyticsService.getRateSummaryByLoad(isNull(), isNull(), anyInt(), eq(5000)))
+                .thenThrow(new BusinessException("Page must be at least 1 and size between 1 and 1000"));
+
+        mockMvc.perform(get("/analytics/rates").param("size", "5000"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -2,7 +2,10 @@ package com.kush.cargoProAssignment.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kush.cargoProAssignment.controllers.BookingController;
+import com.kush.cargoProAssignment.dto.BookingAwardDTO;
 import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.dto.EntityVersionDTO;
+import com.kush.cargoProAssignment.exceptions.ConflictException;
 import com.kush.cargoProAssignment.exceptions.ResourceNotFoundException;
 import com.kush.cargoProAssignment.service.BookingService;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,13 +14,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Collections;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -55,6 +64,7 @@ class BookingControllerTest {
         bookingDTO.setLoadId(loadId);
         bookingDTO.setTransporterId("transporter123");
         bookingDTO.setProposedRate(1000.0);
+        bookingDTO.setVersion(1L);
 
         // Reset the mock before each test
         reset(bookingService);
@@ -90,19 +100,65 @@ class BookingControllerTest {
     }
 
     @Test
-    void getBookings_shouldReturnListOfBookings() throws Exception {
-        when(bookingService.getBookings(any(), any(), any()))
-                .thenReturn(Collections.singletonList(bookingDTO));
+    void getBookings_shouldReturnPageOfBookings() throws Exception {
+        when(bookingService.getBookings(any(), any(), any(), anyInt(), anyInt()))
+                .thenReturn(new PageImpl<>(Collections.singletonList(bookingDTO)));
 
         mockMvc.perform(get("/booking")
+                        .param("loadId", loadId.toString())
+                        .param("page", "1")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].transporterId").value("transporter123"));
+        verify(bookingService).getBookings(eq(loadId), any(), any(), eq(1), eq(10));
+    }
+
+    @Test
+    void getBookings_shouldReturnNotModifiedWithoutQueryingTheDtos_whenListIsUnchanged() throws Exception {
+        bookingDTO.setId(bookingId);
+        when(bookingService.getBookings(any(), any(), any(), anyInt(), anyInt()))
+                .thenReturn(new PageImpl<>(Collections.singletonList(bookingDTO)));
+        when(bookingService.getBookingVersions(any(), any(), any(), anyInt(), anyInt()))
+                .thenReturn(new PageImpl<>(Collections.singletonList(new EntityVersionDTO(bookingId, 1L))));
+
+        String etag = mockMvc.perform(get("/booking").param("loadId", loadId.toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/booking").param("loadId", loadId.toString()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verify(bookingService, times(1)).getBookings(any(), any(), any(), anyInt(), anyInt());
+        verify(bookingService).getBookingVersions(eq(loadId), any(), any(), eq(1), eq(10));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamBookings_shouldWriteOneJsonDocumentPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BookingDTO> consumer = invocation.getArgument(3);
+            consumer.accept(bookingDTO);
+            consumer.accept(bookingDTO);
+            return null;
+        }).when(bookingService).streamBookings(eq(loadId), any(), any(), any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/booking/stream")
                         .param("loadId", loadId.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].transporterId").value("transporter123"));
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("transporter123", objectMapper.readValue(lines[0], BookingDTO.class).getTransporterId());
     }
 
     @Test
     void updateBooking_shouldReturnUpdatedBooking_whenValidInput() throws Exception {
-        when(bookingService.updateBooking(any(), any(BookingDTO.class))).thenReturn(bookingDTO);
+        when(bookingService.updateBooking(any(), any(BookingDTO.class), any())).thenReturn(bookingDTO);
 
         mockMvc.perform(put("/booking/{bookingId}", bookingId)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -111,6 +167,51 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.transporterId").value("transporter123"));
     }
 
+    @Test
+    void getBookingById_shouldReturnNotModifiedWithoutLoadingTheBooking_whenETagMatches() throws Exception {
+        when(bookingService.getBookingVersion(bookingId)).thenReturn(1L);
+
+        mockMvc.perform(get("/booking/{bookingId}", bookingId).header("If-None-Match", "\"1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1\""));
+        verify(bookingService, never()).getBookingById(bookingId);
+    }
+
+    @Test
+    void updateBooking_shouldPassIfMatchVersionToService() throws Exception {
+        bookingDTO.setVersion(2L);
+        when(bookingService.updateBooking(eq(bookingId), any(BookingDTO.class), eq(Set.of(1L)))).thenReturn(bookingDTO);
+
+        mockMvc.perform(put("/booking/{bookingId}", bookingId)
+                        .header("If-Match", "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""));
+    }
+
+    @Test
+    void acceptBooking_shouldReturnConflict_whenLoadAlreadyHasAcceptedBooking() throws Exception {
+        doThrow(new ConflictException("Load already has an accepted booking"))
+                .when(bookingService).acceptBooking(bookingId);
+
+        mockMvc.perform(put("/booking/{bookingId}/accept", bookingId))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Load already has an accepted booking"));
+    }
+
+    @Test
+    void awardBooking_shouldReturnAwardWithAcceptedBookingETag() throws Exception {
+        bookingDTO.setVersion(3L);
+        when(bookingService.awardBooking(bookingId)).thenReturn(new BookingAwardDTO(bookingDTO, 1, 42));
+
+        mockMvc.perform(put("/booking/{bookingId}/award", bookingId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.rejected").value(42));
+    }
+
     @Test
     void deleteBooking_shouldReturnNoContent() throws Exception {
         doNothing().when(bookingService).deleteBooking(bookingId);
@@ -2,9 +2,21 @@ package com.kush.cargoProAssignment.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kush.cargoProAssignment.controllers.LoadController;
+import com.kush.cargoProAssignment.dto.BatchItemResultDTO;
+import com.kush.cargoProAssignment.dto.BatchResultDTO;
+import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.dto.CursorPageDTO;
+import com.kush.cargoProAssignment.dto.EntityVersionDTO;
 import com.kush.cargoProAssignment.dto.FacilityDTO;
 import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.dto.LoadDateFilterDTO;
+import com.kush.cargoProAssignment.dto.NearbyLoadDTO;
+import com.kush.cargoProAssignment.dto.NearbySearchDTO;
+import com.kush.cargoProAssignment.exceptions.PreconditionFailedException;
 import com.kush.cargoProAssignment.exceptions.ResourceNotFoundException;
+import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import com.kush.cargoProAssignment.service.BookingService;
+import com.kush.cargoProAssignment.service.LoadFeedBroadcaster;
 import com.kush.cargoProAssignment.service.LoadService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,12 +27,19 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -34,6 +53,12 @@ class LoadControllerTest {
     @Autowired
     private LoadService loadService;
 
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private LoadFeedBroadcaster loadFeedBroadcaster;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -46,12 +71,23 @@ class LoadControllerTest {
         public LoadService loadService() {
             return mock(LoadService.class);
         }
+
+        @Bean
+        public BookingService bookingService() {
+            return mock(BookingService.class);
+        }
+
+        @Bean
+        public LoadFeedBroadcaster loadFeedBroadcaster() {
+            return mock(LoadFeedBroadcaster.class);
+        }
     }
 
     @BeforeEach
     void setUp() {
         loadId = UUID.randomUUID();
         loadDTO = new LoadDTO();
+        loadDTO.setVersion(3L);
         loadDTO.setShipperId("shipper1");
         loadDTO.setProductType("Electronics");
         loadDTO.setTruckType("Container");
@@ -98,9 +134,31 @@ class LoadControllerTest {
 
         mockMvc.perform(get("/load/{loadId}", loadId))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
                 .andExpect(jsonPath("$.shipperId").value("shipper1"));
     }
 
+    @Test
+    void getLoadById_shouldReturnNotModifiedWithoutLoadingTheLoad_whenETagMatches() throws Exception {
+        when(loadService.getLoadVersion(loadId)).thenReturn(3L);
+
+        mockMvc.perform(get("/load/{loadId}", loadId).header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+        verify(loadService, never()).getLoadById(loadId);
+    }
+
+    @Test
+    void getLoadById_shouldReturnLoad_whenETagIsStale() throws Exception {
+        when(loadService.getLoadVersion(loadId)).thenReturn(3L);
+        when(loadService.getLoadById(loadId)).thenReturn(loadDTO);
+
+        mockMvc.perform(get("/load/{loadId}", loadId).header("If-None-Match", "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
     @Test
     void getLoadById_shouldReturnNotFound_whenLoadDoesNotExist() throws Exception {
         doThrow(new ResourceNotFoundException("Load not found")).when(loadService).getLoadById(loadId);
@@ -112,7 +170,7 @@ class LoadControllerTest {
 
     @Test
     void getLoads_shouldReturnPageOfLoads() throws Exception {
-        when(loadService.getLoads(any(), any(), any(), anyInt(), anyInt()))
+        when(loadService.getLoads(any(), any(), any(), any(), anyInt(), anyInt()))
                 .thenReturn(new PageImpl<>(Collections.singletonList(loadDTO)));
 
         mockMvc.perform(get("/load")
@@ -122,17 +180,168 @@ class LoadControllerTest {
                 .andExpect(jsonPath("$.content.length()").value(1));
     }
 
+    @Test
+    void getLoads_shouldBindDateRangeFilters() throws Exception {
+        when(loadService.getLoads(any(), any(), any(), any(), anyInt(), anyInt()))
+                .thenReturn(new PageImpl<>(Collections.singletonList(loadDTO)));
+
+        mockMvc.perform(get("/load")
+                        .param("status", "POSTED")
+                        .param("loadingFrom", "2024-08-01T00:00:00")
+                        .param("loadingTo", "2024-08-03T00:00:00"))
+                .andExpect(status().isOk());
+
+        verify(loadService).getLoads(isNull(), isNull(), eq(LoadStatus.POSTED),
+                eq(new LoadDateFilterDTO(LocalDateTime.of(2024, 8, 1, 0, 0), LocalDateTime.of(2024, 8, 3, 0, 0),
+                        null, null)), eq(1), eq(10));
+    }
+
+    @Test
+    void getLoads_shouldUseCursorMode_whenCursorParamIsPresent() throws Exception {
+        when(loadService.getLoadsByCursor(any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(new CursorPageDTO<>(Collections.singletonList(loadDTO), 1, true, "next-token"));
+
+        mockMvc.perform(get("/load")
+                        .param("cursor", "")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+        verify(loadService, never()).getLoads(any(), any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getTopBids_shouldReturnCheapestPendingBids() throws Exception {
+        BookingDTO cheapest = new BookingDTO();
+        cheapest.setProposedRate(900.0);
+        BookingDTO next = new BookingDTO();
+        next.setProposedRate(950.0);
+        when(bookingService.getTopBids(loadId, 2)).thenReturn(List.of(cheapest, next));
+
+        mockMvc.perform(get("/load/{loadId}/bids/top", loadId).param("n", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].proposedRate").value(900.0));
+    }
+
+    @Test
+    void searchLoads_shouldReturnRankedPage() throws Exception {
+        when(loadService.searchLoads("elec delhi", LoadStatus.POSTED, 1, 10))
+                .thenReturn(new PageImpl<>(Collections.singletonList(loadDTO)));
+
+        mockMvc.perform(get("/load/search").param("q", "elec delhi").param("status", "POSTED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].shipperId").value(loadDTO.getShipperId()));
+    }
+
+    @Test
+    void subscribe_shouldStartEventStream() throws Exception {
+        when(loadFeedBroadcaster.subscribe("Container")).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/load/feed").param("truckType", "Container").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void findNearby_shouldBindQueryParameters() throws Exception {
+        when(loadService.findNearby(any(NearbySearchDTO.class))).thenReturn(List.of(new NearbyLoadDTO(loadDTO, 4.2)));
+
+        mockMvc.perform(get("/load/nearby")
+                        .param("latitude", "28.6")
+                        .param("longitude", "77.2")
+                        .param("radiusKm", "25")
+                        .param("truckType", "Container")
+                        .param("loadingWithinHours", "48"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].distanceKm").value(4.2))
+                .andExpect(jsonPath("$[0].load.shipperId").value(loadDTO.getShipperId()));
+
+        verify(loadService).findNearby(argThat(search -> search.getLatitude() == 28.6
+                && search.getRadiusKm() == 25 && "Container".equals(search.getTruckType())
+                && search.getLoadingWithinHours() == 48 && search.getLimit() == 20));
+    }
+
     @Test
     void updateLoad_shouldReturnUpdatedLoad_whenValidInput() throws Exception {
-        when(loadService.updateLoad(any(), any(LoadDTO.class))).thenReturn(loadDTO);
+        when(loadService.updateLoad(any(), any(LoadDTO.class), any())).thenReturn(loadDTO);
 
         mockMvc.perform(put("/load/{loadId}", loadId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loadDTO)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
                 .andExpect(jsonPath("$.shipperId").value("shipper1"));
     }
 
+    @Test
+    void updateLoad_shouldReturnPreconditionFailed_whenIfMatchIsStale() throws Exception {
+        when(loadService.updateLoad(eq(loadId), any(LoadDTO.class), eq(Set.of(2L))))
+                .thenThrow(new PreconditionFailedException("Load is at version 3, not 2"));
+
+        mockMvc.perform(put("/load/{loadId}", loadId)
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loadDTO)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateLoad_shouldPassEveryStrongVersionOfAnIfMatchListToService() throws Exception {
+        when(loadService.updateLoad(eq(loadId), any(LoadDTO.class), eq(Set.of(1L, 3L)))).thenReturn(loadDTO);
+
+        mockMvc.perform(put("/load/{loadId}", loadId)
+                        .header("If-Match", "\"1\", W/\"2\", \"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loadDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    void updateLoad_shouldReturnPreconditionFailed_whenIfMatchIsWeak() throws Exception {
+        mockMvc.perform(put("/load/{loadId}", loadId)
+                        .header("If-Match", "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loadDTO)))
+                .andExpect(status().isPreconditionFailed());
+        verify(loadService, never()).updateLoad(eq(loadId), any(LoadDTO.class), any());
+    }
+
+    @Test
+    void getLoads_shouldReturnNotModifiedWithoutQueryingTheDtos_whenListIsUnchanged() throws Exception {
+        loadDTO.setId(loadId);
+        when(loadService.getLoads(any(), any(), any(), any(), anyInt(), anyInt()))
+                .thenReturn(new PageImpl<>(Collections.singletonList(loadDTO)));
+        when(loadService.getLoadVersions(any(), any(), any(), any(), anyInt(), anyInt()))
+                .thenReturn(new PageImpl<>(List.of(new EntityVersionDTO(loadId, 3L))));
+
+        String etag = mockMvc.perform(get("/load"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/load").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verify(loadService, times(1)).getLoads(any(), any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getLoads_shouldReturnTheList_whenARowOfThePageChanged() throws Exception {
+        loadDTO.setId(loadId);
+        when(loadService.getLoads(any(), any(), any(), any(), anyInt(), anyInt()))
+                .thenReturn(new PageImpl<>(Collections.singletonList(loadDTO)));
+        when(loadService.getLoadVersions(any(), any(), any(), any(), anyInt(), anyInt()))
+                .thenReturn(new PageImpl<>(List.of(new EntityVersionDTO(loadId, 4L))));
+
+        String etag = mockMvc.perform(get("/load"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/load").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].shipperId").value("shipper1"));
+    }
+
     @Test
     void deleteLoad_shouldReturnNoContent() throws Exception {
         doNothing().when(loadService).deleteLoad(loadId);
@@ -140,4 +349,48 @@ class LoadControllerTest {
         mockMvc.perform(delete("/load/{loadId}", loadId))
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void createLoads_shouldParseJsonArray() throws Exception {
+        when(loadService.createLoads(any())).thenAnswer(invocation -> countingResult(invocation.getArgument(0)));
+
+        mockMvc.perform(post("/load/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(loadDTO, loadDTO, loadDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3))
+                .andExpect(jsonPath("$.created").value(3));
+    }
+
+    @Test
+    void createLoads_shouldParseNdjsonStream() throws Exception {
+        when(loadService.createLoads(any())).thenAnswer(invocation -> countingResult(invocation.getArgument(0)));
+        String line = objectMapper.writeValueAsString(loadDTO);
+
+        mockMvc.perform(post("/load/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(line + "\n" + line + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2));
+    }
+
+    @Test
+    void createLoads_shouldReturnBadRequest_whenPayloadIsMalformed() throws Exception {
+        when(loadService.createLoads(any())).thenAnswer(invocation -> countingResult(invocation.getArgument(0)));
+
+        mockMvc.perform(post("/load/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(loadDTO) + "\n{\"shipperId\": "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(startsWith("Malformed load batch")));
+    }
+
+    private static BatchResultDTO countingResult(Iterator<LoadDTO> loads) {
+        List<BatchItemResultDTO> results = new ArrayList<>();
+        while (loads.hasNext()) {
+            loads.next();
+            results.add(new BatchItemResultDTO(results.size(), true, UUID.randomUUID(), null));
+        }
+        return new BatchResultDTO(results.size(), results.size(), 0, results);
+    }
+}
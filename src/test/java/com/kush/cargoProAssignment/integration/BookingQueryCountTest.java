@@ -0,0 +1,159 @@
+package com.kush.cargoProAssignment.integration;
+
+import com.kush.cargoProAssignment.config.CacheConfig;
+import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.dto.FacilityDTO;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.model.Booking;
+import com.kush.cargoProAssignment.model.Load;
+import com.kush.cargoProAssignment.repository.BookingRepository;
+import com.kush.cargoProAssignment.repository.LoadBookingCountsRepository;
+import com.kush.cargoProAssignment.repository.LoadRepository;
+import com.kush.cargoProAssignment.service.BookingService;
+import com.kush.cargoProAssignment.service.LoadService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Counts statements with Hibernate statistics, with every cache cold unless a test warms one on purpose
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingQueryCountTest {
+
+    private static final int MANY = 25;
+
+    @Autowired
+    private LoadService loadService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private LoadBookingCountsRepository loadBookingCountsRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+
+    private UUID oneBookingLoadId;
+    private UUID manyBookingsLoadId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        oneBookingLoadId = loadService.createLoad(load()).getId();
+        manyBookingsLoadId = loadService.createLoad(load()).getId();
+        bookingService.createBooking(booking(oneBookingLoadId, "T0"));
+        for (int i = 0; i < MANY; i++) {
+            bookingService.createBooking(booking(manyBookingsLoadId, "T" + i));
+        }
+        coldCaches();
+    }
+
+    @AfterEach
+    void tearDown() {
+        loadBookingCountsRepository.deleteAllInBatch();
+        bookingRepository.deleteAllInBatch();
+        loadRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void getBookings_shouldRunTheSameQueriesWhateverTheResultSize() {
+        long oneBookingStatements = statementsFor(() -> assertEquals(1, page(oneBookingLoadId).getNumberOfElements()));
+        long manyBookingsStatements = statementsFor(() -> {
+            Page<BookingDTO> page = page(manyBookingsLoadId);
+            assertEquals(MANY, page.getNumberOfElements());
+            assertTrue(page.stream().allMatch(booking -> manyBookingsLoadId.equals(booking.getLoadId())));
+        });
+
+        assertEquals(oneBookingStatements, manyBookingsStatements);
+        assertEquals(0, statistics.getEntityStatistics(Load.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void getBookings_shouldNotLoadBookingsOneByOne_whenOnlyTheQueryCacheIsWarm() {
+        page(manyBookingsLoadId);
+        // Entity entries can be evicted independently of the query results that reference them
+        entityManagerFactory.getCache().evict(Booking.class);
+
+        long statements = statementsFor(() -> assertEquals(MANY, page(manyBookingsLoadId).getNumberOfElements()));
+
+        assertEquals(0, statements);
+    }
+
+    @Test
+    void getBookingById_shouldReadTheLoadIdWithoutLoadingTheLoad() {
+        UUID bookingId = page(manyBookingsLoadId).getContent().get(0).getId();
+        coldCaches();
+
+        long statements = statementsFor(() ->
+                assertEquals(manyBookingsLoadId, bookingService.getBookingById(bookingId).getLoadId()));
+
+        assertEquals(1, statements);
+        assertEquals(0, statistics.getEntityStatistics(Load.class.getName()).getLoadCount());
+    }
+
+    private Page<BookingDTO> page(UUID loadId) {
+        return bookingService.getBookings(loadId, null, null, 1, 50);
+    }
+
+    private long statementsFor(Runnable call) {
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void coldCaches() {
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        cacheManager.getCache(CacheConfig.BOOKINGS).clear();
+    }
+
+    private LoadDTO load() {
+        FacilityDTO facility = new FacilityDTO();
+        facility.setLoadingPoint("Delhi");
+        facility.setUnloadingPoint("Mumbai");
+        facility.setLoadingDate(LocalDateTime.now().plusDays(1));
+        facility.setUnloadingDate(LocalDateTime.now().plusDays(3));
+
+        LoadDTO load = new LoadDTO();
+        load.setShipperId("SHIPPER001");
+        load.setFacility(facility);
+        load.setProductType("Electronics");
+        load.setTruckType("Container");
+        load.setNoOfTrucks(2);
+        load.setWeight(5000.0);
+        return load;
+    }
+
+    private BookingDTO booking(UUID loadId, String transporterId) {
+        BookingDTO booking = new BookingDTO();
+        booking.setLoadId(loadId);
+        booking.setTransporterId(transporterId);
+        booking.setProposedRate(1200.0);
+        return booking;
+    }
+}
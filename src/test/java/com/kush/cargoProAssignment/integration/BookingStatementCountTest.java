@@ -0,0 +1,198 @@
+package com.kush.cargoProAssignment.integration;
+
+import com.kush.cargoProAssignment.config.SqlStatementCaptor;
+import com.kush.cargoProAssignment.dto.BookingAwardDTO;
+import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.dto.FacilityDTO;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.model.LoadBookingCounts;
+import com.kush.cargoProAssignment.model.enums.BookingStatus;
+import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import com.kush.cargoProAssignment.repository.BookingRepository;
+import com.kush.cargoProAssignment.repository.LoadBookingCountsRepository;
+import com.kush.cargoProAssignment.repository.LoadRepository;
+import com.kush.cargoProAssignment.service.BookingService;
+import com.kush.cargoProAssignment.service.LoadService;
+import com.kush.cargoProAssignment.service.OutboxSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Each service call runs in its own transaction here, so the captured statements are exactly what one request costs
+@SpringBootTest(properties = {"outbox.relay.interval=1h",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.kush.cargoProAssignment.config.SqlStatementCaptor"})
+@ActiveProfiles("test")
+class BookingStatementCountTest {
+
+    // Events are only recorded when there is a sink to relay them to; the relay itself never runs here
+    @TestConfiguration
+    static class SinkConfig {
+        @Bean
+        OutboxSink outboxSink() {
+            return events -> {
+            };
+        }
+    }
+
+    @Autowired
+    private LoadService loadService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private LoadBookingCountsRepository loadBookingCountsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final String COUNT_UPSERT = "merge into load_booking_counts";
+
+    private UUID loadId;
+
+    @BeforeEach
+    void setUp() {
+        FacilityDTO facility = new FacilityDTO();
+        facility.setLoadingPoint("Delhi");
+        facility.setUnloadingPoint("Mumbai");
+        facility.setLoadingDate(LocalDateTime.now().plusDays(1));
+        facility.setUnloadingDate(LocalDateTime.now().plusDays(3));
+
+        LoadDTO load = new LoadDTO();
+        load.setShipperId("SHIPPER001");
+        load.setFacility(facility);
+        load.setProductType("Electronics");
+        load.setTruckType("Container");
+        load.setNoOfTrucks(2);
+        load.setWeight(5000.0);
+        loadId = loadService.createLoad(load).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        loadBookingCountsRepository.deleteAllInBatch();
+        bookingRepository.deleteAllInBatch();
+        loadRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createBooking_shouldReadLoadFromSecondLevelCacheAndUpdateStatusOnce() {
+        SqlStatementCaptor.clear();
+
+        bookingService.createBooking(booking("T1"));
+
+        // The load was cached by createLoad, so only the writes reach the database: the booking, the relative
+        // upsert of the load's booking counts (MERGE on H2), then at commit the load and both outbox rows as one batch
+        assertStatements("insert into bookings", COUNT_UPSERT,
+                "update loads set status=?,version=? where id=? and version=?", "insert into outbox_events");
+        assertEquals(LoadStatus.BOOKED, loadRepository.findById(loadId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void createBooking_shouldSkipStatusWrite_whenLoadAlreadyBooked() {
+        bookingService.createBooking(booking("T1"));
+        SqlStatementCaptor.clear();
+
+        bookingService.createBooking(booking("T2"));
+
+        assertStatements("insert into bookings", COUNT_UPSERT, "insert into outbox_events");
+    }
+
+    @Test
+    void acceptBooking_shouldCheckAcceptedAndCompareAndSetTheLoadVersion() {
+        UUID bookingId = bookingService.createBooking(booking("T1")).getId();
+        SqlStatementCaptor.clear();
+
+        bookingService.acceptBooking(bookingId);
+
+        // booking and load come from the second-level cache; the load is already BOOKED, so only its version
+        // moves, at commit
+        assertStatements("select", "update bookings", COUNT_UPSERT, "insert into outbox_events",
+                "update loads set version=? where id=? and version=?");
+        Long storedVersion = jdbcTemplate.queryForObject("select version from loads where id = ?", Long.class, loadId);
+        assertEquals(storedVersion, loadRepository.findById(loadId).orElseThrow().getVersion());
+    }
+
+    @Test
+    void deleteBooking_shouldRecomputeStatusFromTheCountsRow() {
+        UUID bookingId = bookingService.createBooking(booking("T1")).getId();
+        SqlStatementCaptor.clear();
+
+        bookingService.deleteBooking(bookingId);
+
+        // One primary-key read of the remaining counts, however many bookings the load has
+        assertStatements("delete from bookings", COUNT_UPSERT, "select", "update loads", "insert into outbox_events");
+        assertEquals(0, loadBookingCountsRepository.findCounts(loadId).orElseThrow().total());
+        assertEquals(LoadStatus.CANCELLED, loadRepository.findById(loadId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void awardBooking_shouldRejectThousandsOfBidsWithAFewBulkUpdates() {
+        UUID bookingId = bookingService.createBooking(booking("T1")).getId();
+        int otherBids = 1500;
+        jdbcTemplate.batchUpdate("insert into bookings (id, load_id, transporter_id, proposed_rate, status, version, "
+                        + "requested_at) values (?, ?, ?, 1000, 'PENDING', 0, current_timestamp)",
+                Stream.generate(() -> new Object[]{UUID.randomUUID(), loadId, "T"}).limit(otherBids).toList());
+        jdbcTemplate.update("update load_booking_counts set pending = pending + ? where load_id = ?", otherBids, loadId);
+        SqlStatementCaptor.clear();
+
+        BookingAwardDTO award = bookingService.awardBooking(bookingId);
+
+        // One id read and an UPDATE per 1000 bids, never a row at a time, then the accept as in acceptBooking;
+        // the outbox rows go out in JDBC batches, with sequence values fetched 50 at a time
+        List<String> statements = SqlStatementCaptor.statements().stream()
+                .filter(sql -> !sql.startsWith("select next value"))
+                .toList();
+        // The pending ids are read under a row lock, so the UPDATEs reject exactly those
+        assertEquals(1, statements.stream().filter(sql -> sql.endsWith("for update")).count(),
+                () -> String.join("\n", statements));
+        assertEquals(2, statements.stream().filter(sql -> sql.contains("set status='REJECTED'")).count(),
+                () -> String.join("\n", statements));
+        assertTrue(statements.size() < 12, () -> String.join("\n", statements));
+        assertEquals(1, award.getAccepted());
+        assertEquals(otherBids, award.getRejected());
+        assertEquals(otherBids, jdbcTemplate.queryForObject(
+                "select count(*) from bookings where status = 'REJECTED' and version = 1", Integer.class));
+        LoadBookingCounts counts = loadBookingCountsRepository.findCounts(loadId).orElseThrow();
+        assertEquals(List.of(0L, 1L, (long) otherBids), List.of(counts.getPending(), counts.getAccepted(), counts.getRejected()));
+        assertEquals(otherBids, jdbcTemplate.queryForObject(
+                "select count(*) from outbox_events where event_type = 'rejected'", Integer.class));
+    }
+
+    private BookingDTO booking(String transporterId) {
+        BookingDTO booking = new BookingDTO();
+        booking.setLoadId(loadId);
+        booking.setTransporterId(transporterId);
+        booking.setProposedRate(1200.0);
+        return booking;
+    }
+
+    private void assertStatements(String... expectedPrefixes) {
+        List<String> statements = SqlStatementCaptor.statements();
+        assertEquals(expectedPrefixes.length, statements.size(), () -> String.join("\n", statements));
+        for (int i = 0; i < expectedPrefixes.length; i++) {
+            String statement = statements.get(i).strip().replaceAll("\\s+", " ").toLowerCase();
+            assertTrue(statement.startsWith(expectedPrefixes[i]), statement);
+        }
+    }
+}
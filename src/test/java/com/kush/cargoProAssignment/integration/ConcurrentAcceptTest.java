@@ -0,0 +1,121 @@
+package com.kush.cargoProAssignment.integration;
+
+import com.kush.cargoProAssignment.exceptions.ConflictException;
+import com.kush.cargoProAssignment.model.Booking;
+import com.kush.cargoProAssignment.model.Facility;
+import com.kush.cargoProAssignment.model.Load;
+import com.kush.cargoProAssignment.model.enums.BookingStatus;
+import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import com.kush.cargoProAssignment.repository.BookingRepository;
+import com.kush.cargoProAssignment.repository.LoadRepository;
+import com.kush.cargoProAssignment.service.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Many transporters bidding on one hot load: every booking is accepted at once and exactly one may win
+@SpringBootTest(properties = "booking.retry.backoff=1ms")
+@ActiveProfiles("test")
+class ConcurrentAcceptTest {
+
+    private static final int BOOKINGS = 2000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Load load;
+    private List<UUID> bookingIds;
+
+    @BeforeEach
+    void setUp() {
+        load = new Load();
+        load.setShipperId("SHIPPER001");
+        load.setFacility(new Facility("Delhi", "Mumbai", LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(3)));
+        load.setProductType("Electronics");
+        load.setTruckType("Container");
+        load.setNoOfTrucks(1);
+        load.setWeight(1000.0);
+        load.setStatus(LoadStatus.POSTED);
+        load = loadRepository.save(load);
+
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = new Booking();
+            booking.setLoad(load);
+            booking.setTransporterId("T" + i);
+            booking.setProposedRate(1000.0 + i);
+            booking.setStatus(BookingStatus.PENDING);
+            bookings.add(booking);
+        }
+        bookingIds = bookingRepository.saveAll(bookings).stream().map(Booking::getId).toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAllInBatch();
+        loadRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void concurrentAccepts_shouldLeaveExactlyOneAcceptedBookingPerLoad() throws Exception {
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (UUID bookingId : bookingIds) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        bookingService.acceptBooking(bookingId);
+                        accepted.incrementAndGet();
+                    } catch (ConflictException e) {
+                        conflicts.incrementAndGet();
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+        }
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        assertEquals(1, accepted.get());
+        assertEquals(BOOKINGS - 1, conflicts.get());
+
+        List<Booking> winners = bookingRepository.findAll().stream()
+                .filter(b -> b.getStatus() == BookingStatus.ACCEPTED)
+                .toList();
+        assertEquals(1, winners.size());
+        assertEquals(LoadStatus.BOOKED, loadRepository.findById(load.getId()).orElseThrow().getStatus());
+    }
+}
@@ -0,0 +1,228 @@
+package com.kush.cargoProAssignment.integration;
+
+import com.kush.cargoProAssignment.config.CacheConfig;
+import com.kush.cargoProAssignment.config.SqlStatementCaptor;
+import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.dto.FacilityDTO;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.exceptions.ResourceNotFoundException;
+import com.kush.cargoProAssignment.model.enums.BookingStatus;
+import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import com.kush.cargoProAssignment.repository.BookingRepository;
+import com.kush.cargoProAssignment.repository.LoadRepository;
+import com.kush.cargoProAssignment.service.BookingService;
+import com.kush.cargoProAssignment.service.LoadService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Service calls run in their own transactions here, so cache puts and evictions happen as they would in production
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.kush.cargoProAssignment.config.SqlStatementCaptor")
+@ActiveProfiles("test")
+class DtoCacheIntegrationTest {
+
+    @Autowired
+    private LoadService loadService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private UUID loadId;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        loadId = loadService.createLoad(load("Fragile items")).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAllInBatch();
+        loadRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void getLoadById_shouldServeRepeatedReadsFromCache() {
+        double hitsBefore = gets(CacheConfig.LOADS, "hit");
+
+        loadService.getLoadById(loadId);
+        SqlStatementCaptor.clear();
+        loadService.getLoadById(loadId);
+        loadService.getLoadById(loadId);
+
+        assertTrue(SqlStatementCaptor.statements().isEmpty());
+        assertEquals(hitsBefore + 2, gets(CacheConfig.LOADS, "hit"));
+    }
+
+    @Test
+    void updateLoad_shouldNeverLeaveStaleLoadInCache() {
+        loadService.getLoadById(loadId);
+
+        loadService.updateLoad(loadId, load("Updated comment"));
+
+        assertEquals("Updated comment", loadService.getLoadById(loadId).getComment());
+    }
+
+    @Test
+    void readOverlappingAnUpdate_shouldNotCacheTheOldVersion() throws Exception {
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch updated = new CountDownLatch(1);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            // The reader misses and loads the old row, but its outer transaction, and so its put, ends only after
+            // the update has committed and evicted
+            Future<?> overlapping = reader.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                loadService.getLoadById(loadId);
+                read.countDown();
+                await(updated);
+            }));
+            await(read);
+            long committed = loadService.updateLoad(loadId, load("Updated comment")).getVersion();
+            updated.countDown();
+            overlapping.get();
+
+            assertEquals(committed, loadService.getLoadById(loadId).getVersion());
+        } finally {
+            reader.shutdown();
+        }
+    }
+
+    @Test
+    void readsAlongsideWrites_shouldNeverServeAVersionOlderThanTheLastCommit() throws Exception {
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] reads = new Future<?>[4];
+            for (int i = 0; i < reads.length; i++) {
+                reads[i] = readers.submit(() -> {
+                    while (writing.get()) {
+                        loadService.getLoadById(loadId);
+                    }
+                });
+            }
+            for (int i = 0; i < 100; i++) {
+                long committed = loadService.updateLoad(loadId, load("Update " + i)).getVersion();
+                assertTrue(loadService.getLoadById(loadId).getVersion() >= committed, "stale read after update " + i);
+            }
+            writing.set(false);
+            for (Future<?> read : reads) {
+                read.get();
+            }
+        } finally {
+            writing.set(false);
+            readers.shutdown();
+        }
+    }
+
+    @Test
+    void statusTransitions_shouldEvictCachedLoad() {
+        assertEquals(LoadStatus.POSTED, loadService.getLoadById(loadId).getStatus());
+
+        UUID bookingId = bookingService.createBooking(booking()).getId();
+        assertEquals(LoadStatus.BOOKED, loadService.getLoadById(loadId).getStatus());
+
+        bookingService.deleteBooking(bookingId);
+        assertEquals(LoadStatus.CANCELLED, loadService.getLoadById(loadId).getStatus());
+    }
+
+    @Test
+    void bookingWrites_shouldNeverLeaveStaleBookingInCache() {
+        UUID bookingId = bookingService.createBooking(booking()).getId();
+        assertEquals(BookingStatus.PENDING, bookingService.getBookingById(bookingId).getStatus());
+
+        BookingDTO update = booking();
+        update.setProposedRate(999.0);
+        update.setStatus(BookingStatus.PENDING);
+        bookingService.updateBooking(bookingId, update);
+        assertEquals(999.0, bookingService.getBookingById(bookingId).getProposedRate());
+
+        bookingService.acceptBooking(bookingId);
+        assertEquals(BookingStatus.ACCEPTED, bookingService.getBookingById(bookingId).getStatus());
+
+        bookingService.deleteBooking(bookingId);
+        assertThrows(ResourceNotFoundException.class, () -> bookingService.getBookingById(bookingId));
+    }
+
+    @Test
+    void deleteLoad_shouldEvictTheLoadAndItsBookings() {
+        UUID bookingId = bookingService.createBooking(booking()).getId();
+        loadService.getLoadById(loadId);
+        bookingService.getBookingById(bookingId);
+
+        loadService.deleteLoad(loadId);
+
+        assertThrows(ResourceNotFoundException.class, () -> loadService.getLoadById(loadId));
+        assertThrows(ResourceNotFoundException.class, () -> bookingService.getBookingById(bookingId));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double gets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", result).functionCounter().count();
+    }
+
+    private BookingDTO booking() {
+        BookingDTO booking = new BookingDTO();
+        booking.setLoadId(loadId);
+        booking.setTransporterId("TRANSPORTER001");
+        booking.setProposedRate(1200.0);
+        return booking;
+    }
+
+    private static LoadDTO load(String comment) {
+        FacilityDTO facility = new FacilityDTO();
+        facility.setLoadingPoint("Delhi");
+        facility.setUnloadingPoint("Mumbai");
+        facility.setLoadingDate(LocalDateTime.now().plusDays(1));
+        facility.setUnloadingDate(LocalDateTime.now().plusDays(3));
+
+        LoadDTO load = new LoadDTO();
+        load.setShipperId("SHIPPER001");
+        load.setFacility(facility);
+        load.setProductType("Electronics");
+        load.setTruckType("Container");
+        load.setNoOfTrucks(2);
+        load.setWeight(5000.0);
+        load.setComment(comment);
+        return load;
+    }
+}
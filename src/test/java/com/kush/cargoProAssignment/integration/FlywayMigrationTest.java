@@ -0,0 +1,315 @@
+package com.kush.cargoProAssignment.integration;
+
+import com.kush.cargoProAssignment.config.SqlStatementCaptor;
+import com.kush.cargoProAssignment.dto.BookingAwardDTO;
+import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.dto.FacilityDTO;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.dto.LoadDateFilterDTO;
+import com.kush.cargoProAssignment.model.OutboxEvent;
+import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import com.kush.cargoProAssignment.repository.BookingRepository;
+import com.kush.cargoProAssignment.repository.LoadRepository;
+import com.kush.cargoProAssignment.service.BookingService;
+import com.kush.cargoProAssignment.service.LoadService;
+import com.kush.cargoProAssignment.service.OutboxSink;
+import jakarta.persistence.SequenceGenerator;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The other tests build their H2 schema from the entities; this one runs the real migrations on PostgreSQL and
+// starts the application on the result with ddl-auto: validate, as production does. It also checks which of the
+// migrated indexes PostgreSQL plans for the SQL the repositories generate. Skipped without Docker.
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "outbox.relay.interval=1h",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.kush.cargoProAssignment.config.SqlStatementCaptor"})
+@Testcontainers(disabledWithoutDocker = true)
+class FlywayMigrationTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    // Events are only recorded when there is a sink to relay them to; the relay itself never runs here
+    @TestConfiguration
+    static class SinkConfig {
+        @Bean
+        OutboxSink outboxSink() {
+            return events -> {
+            };
+        }
+    }
+
+    private static final String STAGED = "staged";
+
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LoadService loadService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void migratedSchema_shouldPassValidationAndServeBookings() {
+        // The context only starts if Hibernate found every mapped table, column and sequence
+        assertEquals(0, flyway.info().pending().length);
+        assertNotNull(flyway.info().current());
+
+        UUID loadId = loadService.createLoad(load()).getId();
+        List<UUID> bookingIds = IntStream.range(0, 3)
+                .mapToObj(i -> bookingService.createBooking(booking(loadId, "T" + i)).getId())
+                .toList();
+        BookingAwardDTO award = bookingService.awardBooking(bookingIds.get(0));
+
+        assertEquals(2, award.getRejected());
+        assertEquals(Map.of("pending", 0L, "accepted", 1L, "rejected", 2L), jdbcTemplate.queryForMap(
+                "select pending, accepted, rejected from load_booking_counts where load_id = ?", loadId));
+    }
+
+    @Test
+    void outboxSequence_shouldHandOutAsManyIdsPerCallAsHibernateAllocates() throws NoSuchFieldException {
+        int allocationSize = OutboxEvent.class.getDeclaredField("id").getAnnotation(SequenceGenerator.class)
+                .allocationSize();
+        assertEquals(allocationSize, jdbcTemplate.queryForObject(
+                "select increment_by from pg_sequences where schemaname = current_schema() "
+                        + "and sequencename = 'outbox_events_seq'", Integer.class));
+
+        // More events than one allocation: ids from consecutive blocks must not collide
+        for (int i = 0; i < allocationSize + 10; i++) {
+            loadService.createLoad(load());
+        }
+        assertEquals(jdbcTemplate.queryForObject("select count(*) from outbox_events", Integer.class),
+                jdbcTemplate.queryForObject("select count(distinct id) from outbox_events", Integer.class));
+    }
+
+    @Test
+    void migrations_shouldKeepTheEarliestAcceptedBookingAndBackfillCounts() {
+        // A separate schema taken through the versions step by step, with data in between
+        migrateStaged("2");
+        UUID twiceAccepted = insertLoad();
+        UUID pendingOnly = insertLoad();
+        LocalDateTime base = LocalDateTime.of(2024, 8, 1, 10, 0);
+        UUID first = insertBooking(twiceAccepted, "ACCEPTED", base);
+        UUID second = insertBooking(twiceAccepted, "ACCEPTED", base.plusHours(1));
+        insertBooking(twiceAccepted, "PENDING", base.plusHours(2));
+        insertBooking(pendingOnly, "PENDING", base);
+
+        migrateStaged("7");
+
+        assertEquals(List.of("ACCEPTED", "REJECTED"), List.of(status(first), status(second)));
+        assertEquals(1, jdbcTemplate.queryForObject("select version from staged.bookings where id = ?",
+                Integer.class, second));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> insertBooking(twiceAccepted, "ACCEPTED", base.plusHours(3)));
+
+        // As if the application had already counted the first load before V8 ran
+        jdbcTemplate.execute("create table staged.load_booking_counts (load_id uuid primary key, "
+                + "pending bigint not null default 0, accepted bigint not null default 0, "
+                + "rejected bigint not null default 0)");
+        jdbcTemplate.update("insert into staged.load_booking_counts values (?, 5, 5, 5)", twiceAccepted);
+
+        migrateStaged("latest");
+
+        assertEquals(Map.of("pending", 5L, "accepted", 5L, "rejected", 5L), counts(twiceAccepted));
+        assertEquals(Map.of("pending", 1L, "accepted", 0L, "rejected", 0L), counts(pendingOnly));
+    }
+
+    @Test
+    void shipperIdAlone_shouldUseShipperIndex() {
+        seedPlanRows();
+        loadRepository.findDtosByFilters("PLAN7", null, null, null, PageRequest.of(0, PAGE_SIZE));
+
+        assertIndexScan(explainLastSelect("PLAN7"), "idx_loads_shipper_status");
+    }
+
+    @Test
+    void truckTypeAndStatus_shouldUseTruckTypeIndex() {
+        seedPlanRows();
+        loadRepository.findDtosByFilters(null, "TRUCK7", LoadStatus.POSTED, null, PageRequest.of(0, PAGE_SIZE));
+
+        assertIndexScan(explainLastSelect("TRUCK7", LoadStatus.POSTED.name()), "idx_loads_truck_type_status");
+    }
+
+    @Test
+    void statusAndLoadingWindow_shouldUseStatusLoadingDateIndex() {
+        seedPlanRows();
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        loadRepository.findDtosByFilters(null, null, LoadStatus.POSTED,
+                new LoadDateFilterDTO(from, from.plusHours(2), null, null), PageRequest.of(0, PAGE_SIZE));
+
+        assertIndexScan(explainLastSelect(LoadStatus.POSTED.name(), from, from.plusHours(2)),
+                "idx_loads_status_loading_date");
+    }
+
+    @Test
+    void loadIdAlone_shouldUseBookingLoadIndex() {
+        seedPlanRows();
+        UUID loadId = jdbcTemplate.queryForObject("select load_id from bookings limit 1", UUID.class);
+        bookingRepository.findDtosByFilters(loadId, null, null, PageRequest.of(0, PAGE_SIZE));
+
+        // Either index that leads with load_id serves the lookup; which one is a cost tie-break
+        assertIndexScan(explainLastSelect(loadId), "idx_bookings_load_(status|rate)");
+    }
+
+    private void migrateStaged(String target) {
+        Flyway.configure().dataSource(dataSource).schemas(STAGED).target(target).load().migrate();
+    }
+
+    // A plain or bitmap index scan on the named index, and no sequential scan
+    private static void assertIndexScan(String plan, String indexPattern) {
+        assertTrue(plan.matches("(?s).*Index Scan (using|on) " + indexPattern + " .*"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+
+    // Enough rows, spread over 50 shippers and 20 truck types, for the planner's estimates to favour the indexes
+    private void seedPlanRows() {
+        if (jdbcTemplate.queryForObject("select count(*) from loads where shipper_id like 'PLAN%'", Long.class) == 0) {
+            jdbcTemplate.update("insert into loads (id, shipper_id, loading_point, unloading_point, loading_date, "
+                    + "unloading_date, product_type, truck_type, no_of_trucks, weight, date_posted, status) "
+                    + "select gen_random_uuid(), 'PLAN' || (i % 50), 'Delhi', 'Mumbai', now() + i * interval '1 minute', "
+                    + "now() + i * interval '1 minute' + interval '2 days', 'Electronics', 'TRUCK' || (i % 20), 1, 100, "
+                    + "now(), case when i % 10 = 0 then 'BOOKED' else 'POSTED' end from generate_series(1, 5000) i");
+            jdbcTemplate.update("insert into bookings (id, load_id, transporter_id, proposed_rate, status, requested_at) "
+                    + "select gen_random_uuid(), id, 'T', 1000, 'REJECTED', now() from loads, generate_series(1, 2) "
+                    + "where shipper_id like 'PLAN%'");
+            jdbcTemplate.execute("analyze loads");
+            jdbcTemplate.execute("analyze bookings");
+        }
+        SqlStatementCaptor.clear();
+    }
+
+    // EXPLAIN of the last page query, with the filter values bound in order, then the offset and row limit.
+    // Sequential scans are disabled so a stray estimate cannot turn the plan into a full scan.
+    private String explainLastSelect(Object... filterValues) {
+        List<String> selects = SqlStatementCaptor.statements().stream()
+                .filter(sql -> sql.startsWith("select") && !sql.contains("count("))
+                .toList();
+        assertFalse(selects.isEmpty());
+        String sql = selects.get(selects.size() - 1);
+
+        long placeholders = sql.chars().filter(c -> c == '?').count();
+        List<Object> args = new ArrayList<>(Arrays.asList(filterValues));
+        if (sql.contains("offset ?")) {
+            args.add(0);
+        }
+        while (args.size() < placeholders) {
+            args.add(PAGE_SIZE);
+        }
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set enable_seqscan = off");
+            }
+            try (PreparedStatement explain = connection.prepareStatement("explain " + sql)) {
+                for (int i = 0; i < args.size(); i++) {
+                    explain.setObject(i + 1, args.get(i));
+                }
+                StringBuilder lines = new StringBuilder();
+                try (ResultSet rows = explain.executeQuery()) {
+                    while (rows.next()) {
+                        lines.append(rows.getString(1)).append('\n');
+                    }
+                }
+                return lines.toString();
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("reset enable_seqscan");
+                }
+            }
+        });
+    }
+
+    private UUID insertLoad() {
+        UUID id = UUID.randomUUID();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("insert into staged.loads (id, shipper_id, loading_point, unloading_point, loading_date, "
+                        + "unloading_date, product_type, truck_type, no_of_trucks, weight, date_posted, status) "
+                        + "values (?, 'SHIPPER001', 'Delhi', 'Mumbai', ?, ?, 'Electronics', 'Container', 1, 100, ?, "
+                        + "'BOOKED')",
+                id, now, now, now);
+        return id;
+    }
+
+    private UUID insertBooking(UUID loadId, String status, LocalDateTime requestedAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("insert into staged.bookings (id, load_id, transporter_id, proposed_rate, status, "
+                + "requested_at) values (?, ?, 'T', 1000, ?, ?)", id, loadId, status, Timestamp.valueOf(requestedAt));
+        return id;
+    }
+
+    private String status(UUID bookingId) {
+        return jdbcTemplate.queryForObject("select status from staged.bookings where id = ?", String.class, bookingId);
+    }
+
+    private Map<String, Object> counts(UUID loadId) {
+        return jdbcTemplate.queryForMap(
+                "select pending, accepted, rejected from staged.load_booking_counts where load_id = ?", loadId);
+    }
+
+    private static LoadDTO load() {
+        FacilityDTO facility = new FacilityDTO();
+        facility.setLoadingPoint("Delhi");
+        facility.setUnloadingPoint("Mumbai");
+        facility.setLoadingDate(LocalDateTime.now().plusDays(1));
+        facility.setUnloadingDate(LocalDateTime.now().plusDays(3));
+
+        LoadDTO load = new LoadDTO();
+        load.setShipperId("SHIPPER001");
+        load.setFacility(facility);
+        load.setProductType("Electronics");
+        load.setTruckType("Container");
+        load.setNoOfTrucks(2);
+        load.setWeight(5000.0);
+        return load;
+    }
+
+    private static BookingDTO booking(UUID loadId, String transporterId) {
+        BookingDTO booking = new BookingDTO();
+        booking.setLoadId(loadId);
+        booking.setTransporterId(transporterId);
+        booking.setProposedRate(1200.0);
+        return booking;
+    }
+}
@@ -0,0 +1,98 @@
+package com.kush.cargoProAssignment.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kush.cargoProAssignment.config.SqlStatementCaptor;
+import com.kush.cargoProAssignment.dto.FacilityDTO;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.repository.LoadRepository;
+import com.kush.cargoProAssignment.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.kush.cargoProAssignment.config.SqlStatementCaptor")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoadBatchIntegrationTest {
+
+    private static final int LOADS = 120;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @AfterEach
+    void tearDown() {
+        loadRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createLoads_shouldInsertValidItemsInJdbcBatches() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < LOADS; i++) {
+            LoadDTO load = load(i);
+            if (i == 7) {
+                load.setWeight(-1.0);
+            }
+            ndjson.append(objectMapper.writeValueAsString(load)).append('\n');
+        }
+        SqlStatementCaptor.clear();
+
+        mockMvc.perform(post("/load/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(LOADS))
+                .andExpect(jsonPath("$.created").value(LOADS - 1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[7].created").value(false))
+                .andExpect(jsonPath("$.results[7].errors.weight").value("Weight must be positive"));
+
+        // One prepared INSERT per flushed chunk of 50, executed as a JDBC batch
+        long inserts = SqlStatementCaptor.statements().stream()
+                .filter(sql -> sql.toLowerCase().startsWith("insert into loads"))
+                .count();
+        assertEquals(3, inserts);
+        assertEquals(LOADS - 1, loadRepository.count());
+        // No sink is configured here, so nothing is left in the outbox for a relay that would never drain it
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    private static LoadDTO load(int i) {
+        FacilityDTO facility = new FacilityDTO();
+        facility.setLoadingPoint("Delhi");
+        facility.setUnloadingPoint("Mumbai");
+        facility.setLoadingDate(LocalDateTime.now().plusDays(1));
+        facility.setUnloadingDate(LocalDateTime.now().plusDays(3));
+
+        LoadDTO load = new LoadDTO();
+        load.setShipperId("SHIPPER" + i % 5);
+        load.setFacility(facility);
+        load.setProductType("Electronics");
+        load.setTruckType("Container");
+        load.setNoOfTrucks(1);
+        load.setWeight(1000.0 + i);
+        return load;
+    }
+}
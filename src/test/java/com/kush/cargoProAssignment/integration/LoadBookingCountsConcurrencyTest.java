@@ -0,0 +1,204 @@
+package com.kush.cargoProAssignment.integration;
+
+import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.dto.FacilityDTO;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.exceptions.BusinessException;
+import com.kush.cargoProAssignment.exceptions.ConflictException;
+import com.kush.cargoProAssignment.exceptions.ResourceNotFoundException;
+import com.kush.cargoProAssignment.model.LoadBookingCounts;
+import com.kush.cargoProAssignment.model.enums.BookingStatus;
+import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import com.kush.cargoProAssignment.repository.BookingRepository;
+import com.kush.cargoProAssignment.repository.LoadBookingCountsRepository;
+import com.kush.cargoProAssignment.repository.LoadRepository;
+import com.kush.cargoProAssignment.service.BookingService;
+import com.kush.cargoProAssignment.service.LoadService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Transporters bidding, withdrawing, being rejected and accepted on one load at the same time
+@SpringBootTest(properties = "booking.retry.backoff=1ms")
+@ActiveProfiles("test")
+class LoadBookingCountsConcurrencyTest {
+
+    // Every transaction OptimisticRetry runs goes through here, so deadlocks it would quietly retry are seen
+    @TestConfiguration
+    static class LockFailureRecorder {
+
+        static final Queue<Throwable> LOCK_FAILURES = new ConcurrentLinkedQueue<>();
+
+        @Bean
+        TransactionOperations transactionOperations(PlatformTransactionManager transactionManager) {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            return new TransactionOperations() {
+                @Override
+                public <T> T execute(TransactionCallback<T> action) {
+                    try {
+                        return template.execute(action);
+                    } catch (PessimisticLockingFailureException ex) {
+                        LOCK_FAILURES.add(ex);
+                        throw ex;
+                    }
+                }
+            };
+        }
+    }
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 60;
+
+    @Autowired
+    private LoadService loadService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private LoadBookingCountsRepository loadBookingCountsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID loadId;
+    private final List<UUID> bookingIds = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        FacilityDTO facility = new FacilityDTO();
+        facility.setLoadingPoint("Delhi");
+        facility.setUnloadingPoint("Mumbai");
+        facility.setLoadingDate(LocalDateTime.now().plusDays(1));
+        facility.setUnloadingDate(LocalDateTime.now().plusDays(3));
+
+        LoadDTO load = new LoadDTO();
+        load.setShipperId("SHIPPER001");
+        load.setFacility(facility);
+        load.setProductType("Electronics");
+        load.setTruckType("Container");
+        load.setNoOfTrucks(1);
+        load.setWeight(1000.0);
+        loadId = loadService.createLoad(load).getId();
+        bookingIds.add(bookingService.createBooking(booking("T0", null)).getId());
+        LockFailureRecorder.LOCK_FAILURES.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        loadBookingCountsRepository.deleteAllInBatch();
+        bookingRepository.deleteAllInBatch();
+        loadRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void concurrentBookingChanges_shouldKeepCountsEqualToTheBookings() throws Exception {
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                            operate("T" + thread + "-" + i);
+                        }
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+        }
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        // Every booking write takes its bookings, then the load's counts row, then the load, so none can deadlock
+        assertTrue(LockFailureRecorder.LOCK_FAILURES.isEmpty(),
+                () -> LockFailureRecorder.LOCK_FAILURES.size() + " deadlocks or lock timeouts, first: "
+                        + LockFailureRecorder.LOCK_FAILURES.peek());
+
+        Map<String, Long> actual = jdbcTemplate.queryForList(
+                        "SELECT status, COUNT(*) AS n FROM bookings WHERE load_id = ? GROUP BY status", loadId).stream()
+                .collect(Collectors.toMap(row -> (String) row.get("status"), row -> ((Number) row.get("n")).longValue()));
+        LoadBookingCounts counts = loadBookingCountsRepository.findCounts(loadId).orElseThrow();
+        assertEquals(actual.getOrDefault("PENDING", 0L), counts.getPending());
+        assertEquals(actual.getOrDefault("ACCEPTED", 0L), counts.getAccepted());
+        assertEquals(actual.getOrDefault("REJECTED", 0L), counts.getRejected());
+        assertTrue(counts.getAccepted() <= 1);
+
+        LoadStatus status = loadRepository.findById(loadId).orElseThrow().getStatus();
+        if (counts.getAccepted() == 1) {
+            assertEquals(LoadStatus.BOOKED, status);
+        } else if (counts.total() == 0) {
+            assertEquals(LoadStatus.CANCELLED, status);
+        }
+    }
+
+    // Losing a race (an accept conflict, or a booking another thread just deleted or accepted) is expected here;
+    // deadlocks are not, and are asserted on separately
+    private void operate(String transporterId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<UUID> snapshot = List.copyOf(bookingIds);
+        UUID bookingId = snapshot.isEmpty() ? null : snapshot.get(random.nextInt(snapshot.size()));
+        try {
+            switch (bookingId == null ? 0 : random.nextInt(4)) {
+                case 0 -> bookingIds.add(bookingService.createBooking(booking(transporterId, null)).getId());
+                case 1 -> bookingService.updateBooking(bookingId, booking(transporterId, BookingStatus.REJECTED));
+                case 2 -> bookingService.acceptBooking(bookingId);
+                default -> {
+                    bookingService.deleteBooking(bookingId);
+                    bookingIds.remove(bookingId);
+                }
+            }
+        } catch (ConflictException | BusinessException | ResourceNotFoundException e) {
+            // expected
+        }
+    }
+
+    private BookingDTO booking(String transporterId, BookingStatus status) {
+        BookingDTO booking = new BookingDTO();
+        booking.setLoadId(loadId);
+        booking.setTransporterId(transporterId);
+        booking.setProposedRate(1000.0 + ThreadLocalRandom.current().nextInt(500));
+        booking.setStatus(status);
+        return booking;
+    }
+}
@@ -131,4 +131,30 @@ class LoadBookingIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("CANCELLED"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void loadList_shouldRevalidateFromVersionsUntilALoadOnThePageChanges() throws Exception {
+        loadDTO.setShipperId("SHIPPER_ETAG");
+        String response = mockMvc.perform(post("/load")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loadDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        LoadDTO created = objectMapper.readValue(response, LoadDTO.class);
+
+        String etag = mockMvc.perform(get("/load").param("shipperId", "SHIPPER_ETAG"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/load").param("shipperId", "SHIPPER_ETAG").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        created.setComment("Handle with care");
+        mockMvc.perform(put("/load/{loadId}", created.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(created)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/load").param("shipperId", "SHIPPER_ETAG").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].comment").value("Handle with care"));
+    }
+}
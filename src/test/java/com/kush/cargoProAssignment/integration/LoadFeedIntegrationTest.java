@@ -0,0 +1,113 @@
+package com.kush.cargoProAssignment.integration;
+
+import com.kush.cargoProAssignment.dto.FacilityDTO;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import com.kush.cargoProAssignment.repository.LoadRepository;
+import com.kush.cargoProAssignment.service.LoadFeedBroadcaster;
+import com.kush.cargoProAssignment.service.LoadService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class LoadFeedIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private LoadService loadService;
+
+    @Autowired
+    private LoadFeedBroadcaster loadFeed;
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @AfterEach
+    void tearDown() {
+        loadRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void feed_shouldPushCommittedChangesForTheSubscribedTruckType() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/load/feed?truckType=Container"))
+                .header("Accept", "text/event-stream")
+                .timeout(Duration.ofSeconds(10))
+                .build();
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient()
+                .sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+                .get(10, TimeUnit.SECONDS);
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElseThrow().startsWith("text/event-stream"));
+
+        try (Stream<String> lines = response.body()) {
+            loadService.createLoad(load("Flatbed"));
+            LoadDTO container = loadService.createLoad(load("Container"));
+            loadService.updateLoadStatus(loadService.findEntityById(container.getId()), LoadStatus.CANCELLED);
+
+            Iterator<String> events = lines.filter(line -> line.startsWith("data:")).iterator();
+            String created = assertTimeoutPreemptively(Duration.ofSeconds(10), events::next);
+            assertTrue(created.contains("\"id\":\"" + container.getId() + "\""), created);
+            assertTrue(created.contains("\"status\":\"POSTED\""), created);
+
+            // updateLoadStatus outside a service transaction commits on its own
+            String cancelled = assertTimeoutPreemptively(Duration.ofSeconds(10), events::next);
+            assertTrue(cancelled.contains("\"status\":\"CANCELLED\""), cancelled);
+        }
+    }
+
+    @Test
+    void stop_shouldCompleteOpenStreams() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/load/feed"))
+                .header("Accept", "text/event-stream")
+                .build();
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient()
+                .sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+                .get(10, TimeUnit.SECONDS);
+        assertEquals(1, loadFeed.subscriberCount());
+
+        loadFeed.stop();
+        try (Stream<String> lines = response.body()) {
+            // The stream ends instead of waiting for the graceful shutdown timeout
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> lines.forEach(line -> { }));
+        } finally {
+            loadFeed.start();
+        }
+        assertEquals(0, loadFeed.subscriberCount());
+    }
+
+    private static LoadDTO load(String truckType) {
+        FacilityDTO facility = new FacilityDTO();
+        facility.setLoadingPoint("Delhi");
+        facility.setUnloadingPoint("Mumbai");
+        facility.setLoadingDate(LocalDateTime.now().plusDays(1));
+        facility.setUnloadingDate(LocalDateTime.now().plusDays(3));
+
+        LoadDTO load = new LoadDTO();
+        load.setShipperId("SHIPPER001");
+        load.setFacility(facility);
+        load.setProductType("Electronics");
+        load.setTruckType(truckType);
+        load.setNoOfTrucks(1);
+        load.setWeight(1000.0);
+        return load;
+    }
+}
@@ -0,0 +1,91 @@
+package com.kush.cargoProAssignment.integration;
+
+import com.kush.cargoProAssignment.dto.FacilityDTO;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.repository.BookingRepository;
+import com.kush.cargoProAssignment.repository.LoadRepository;
+import com.kush.cargoProAssignment.service.LoadSearchIndex;
+import com.kush.cargoProAssignment.service.LoadService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: the index is only updated after a commit
+@SpringBootTest
+@ActiveProfiles("test")
+class LoadSearchIndexIntegrationTest {
+
+    @Autowired
+    private LoadService loadService;
+
+    @Autowired
+    private LoadSearchIndex searchIndex;
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAllInBatch();
+        loadRepository.deleteAllInBatch();
+        searchIndex.clear();
+    }
+
+    @Test
+    void searchLoads_shouldFollowCreateUpdateAndDelete() {
+        LoadDTO created = loadService.createLoad(load("Electronics", "Delhi", "Fragile, keep upright"));
+        UUID id = created.getId();
+        loadService.createLoad(load("Furniture", "Delhi", null));
+
+        assertEquals(List.of(id), ids(loadService.searchLoads("elec delhi", null, 1, 10)));
+        assertEquals(List.of(id), ids(loadService.searchLoads("fragil", null, 1, 10)));
+
+        loadService.updateLoad(id, load("Textiles", "Delhi", null));
+        assertTrue(loadService.searchLoads("electronics", null, 1, 10).isEmpty());
+        assertEquals(List.of(id), ids(loadService.searchLoads("textiles", null, 1, 10)));
+
+        loadService.deleteLoad(id);
+        assertTrue(loadService.searchLoads("textiles", null, 1, 10).isEmpty());
+        assertEquals(1, searchIndex.size());
+    }
+
+    private static List<UUID> ids(Page<LoadDTO> page) {
+        return page.getContent().stream().map(LoadDTO::getId).toList();
+    }
+
+    private static LoadDTO load(String productType, String loadingPoint, String comment) {
+        FacilityDTO facility = new FacilityDTO();
+        facility.setLoadingPoint(loadingPoint);
+        facility.setUnloadingPoint("Mumbai");
+        facility.setLoadingDate(LocalDateTime.now().plusDays(1));
+        facility.setUnloadingDate(LocalDateTime.now().plusDays(3));
+
+        LoadDTO load = new LoadDTO();
+        load.setShipperId("SHIPPER001");
+        load.setFacility(facility);
+        load.setProductType(productType);
+        load.setTruckType("Container");
+        load.setNoOfTrucks(1);
+        load.setWeight(1000.0);
+        load.setComment(comment);
+        return load;
+    }
+}
@@ -0,0 +1,159 @@
+package com.kush.cargoProAssignment.integration;
+
+import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.dto.FacilityDTO;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.dto.NearbyLoadDTO;
+import com.kush.cargoProAssignment.dto.NearbySearchDTO;
+import com.kush.cargoProAssignment.repository.BookingRepository;
+import com.kush.cargoProAssignment.repository.LoadRepository;
+import com.kush.cargoProAssignment.service.BookingService;
+import com.kush.cargoProAssignment.service.LoadIndexInitializer;
+import com.kush.cargoProAssignment.service.LoadService;
+import com.kush.cargoProAssignment.service.LoadSpatialIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: the index is only updated after a commit
+@SpringBootTest
+@ActiveProfiles("test")
+class LoadSpatialIndexIntegrationTest {
+
+    @Autowired
+    private LoadService loadService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private LoadSpatialIndex spatialIndex;
+
+    @Autowired
+    private LoadIndexInitializer indexInitializer;
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private UUID delhiContainer;
+
+    @BeforeEach
+    void setUp() {
+        spatialIndex.clear();
+        delhiContainer = loadService.createLoad(load(28.6315, 77.2167, "Container", 24)).getId();
+        loadService.createLoad(load(28.6200, 77.2100, "Flatbed", 24));
+        loadService.createLoad(load(28.6400, 77.2200, "Container", 96));
+        loadService.createLoad(load(19.0760, 72.8777, "Container", 24));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAllInBatch();
+        loadRepository.deleteAllInBatch();
+        spatialIndex.clear();
+    }
+
+    @Test
+    void findNearby_shouldMatchRadiusTruckTypeAndLoadingWindow() {
+        List<NearbyLoadDTO> results = loadService.findNearby(search());
+
+        assertEquals(List.of(delhiContainer), results.stream().map(result -> result.getLoad().getId()).toList());
+        assertEquals(2.1, results.get(0).getDistanceKm(), 0.1);
+    }
+
+    @Test
+    void findNearby_shouldDropLoadOnceItIsBooked() {
+        BookingDTO booking = new BookingDTO();
+        booking.setLoadId(delhiContainer);
+        booking.setTransporterId("TRANSPORTER001");
+        booking.setProposedRate(1200.0);
+        bookingService.createBooking(booking);
+
+        assertTrue(loadService.findNearby(search()).isEmpty());
+        assertEquals(3, spatialIndex.size());
+    }
+
+    @Test
+    void findNearby_shouldFindLoadAgainOnceItIsPostedAgain() {
+        UUID first = bookingService.createBooking(booking()).getId();
+        bookingService.createBooking(booking());
+        assertTrue(loadService.findNearby(search()).isEmpty());
+
+        // Back to POSTED at a newer version than the one it was removed at
+        bookingService.deleteBooking(first);
+
+        assertEquals(List.of(delhiContainer),
+                loadService.findNearby(search()).stream().map(result -> result.getLoad().getId()).toList());
+    }
+
+    @Test
+    void rebuildIndexes_shouldReloadPostedLoadsWithCoordinates() {
+        loadService.createLoad(load(null, null, "Container", 24));
+        spatialIndex.clear();
+
+        loadService.rebuildIndexes();
+
+        assertEquals(4, spatialIndex.size());
+        assertEquals(1, loadService.findNearby(search()).size());
+    }
+
+    @Test
+    void indexInitializer_shouldHaveRebuiltTheIndexesWhenTheContextStarted() {
+        spatialIndex.clear();
+
+        // The context already started it; starting it again is the same rebuild
+        assertTrue(indexInitializer.isRunning());
+        indexInitializer.start();
+
+        assertEquals(4, spatialIndex.size());
+    }
+
+    private BookingDTO booking() {
+        BookingDTO booking = new BookingDTO();
+        booking.setLoadId(delhiContainer);
+        booking.setTransporterId("TRANSPORTER001");
+        booking.setProposedRate(1200.0);
+        return booking;
+    }
+
+    private static NearbySearchDTO search() {
+        NearbySearchDTO search = new NearbySearchDTO();
+        search.setLatitude(28.6139);
+        search.setLongitude(77.2090);
+        search.setRadiusKm(25);
+        search.setTruckType("Container");
+        search.setLoadingWithinHours(48);
+        return search;
+    }
+
+    private static LoadDTO load(Double latitude, Double longitude, String truckType, int loadingInHours) {
+        FacilityDTO facility = new FacilityDTO();
+        facility.setLoadingPoint("Loading point");
+        facility.setUnloadingPoint("Unloading point");
+        facility.setLoadingDate(LocalDateTime.now().plusHours(loadingInHours));
+        facility.setUnloadingDate(LocalDateTime.now().plusHours(loadingInHours + 48));
+        facility.setLoadingLatitude(latitude);
+        facility.setLoadingLongitude(longitude);
+
+        LoadDTO load = new LoadDTO();
+        load.setShipperId("SHIPPER001");
+        load.setFacility(facility);
+        load.setProductType("Electronics");
+        load.setTruckType(truckType);
+        load.setNoOfTrucks(1);
+        load.setWeight(1000.0);
+        return load;
+    }
+}
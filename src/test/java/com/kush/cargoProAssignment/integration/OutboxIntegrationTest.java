@@ -0,0 +1,204 @@
+package com.kush.cargoProAssignment.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.dto.FacilityDTO;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.model.OutboxEvent;
+import com.kush.cargoProAssignment.repository.BookingRepository;
+import com.kush.cargoProAssignment.repository.LoadRepository;
+import com.kush.cargoProAssignment.repository.OutboxEventRepository;
+import com.kush.cargoProAssignment.service.BookingService;
+import com.kush.cargoProAssignment.service.LoadService;
+import com.kush.cargoProAssignment.service.OutboxRelay;
+import com.kush.cargoProAssignment.service.OutboxSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The scheduled relay is pushed out of the way; the tests run it themselves
+@SpringBootTest(properties = {"outbox.relay.interval=1h", "outbox.relay.batch-size=2"})
+@ActiveProfiles("test")
+class OutboxIntegrationTest {
+
+    @Autowired
+    private LoadService loadService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemorySink sink;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TestConfiguration
+    static class SinkConfig {
+        @Bean
+        InMemorySink inMemorySink() {
+            return new InMemorySink();
+        }
+    }
+
+    static class InMemorySink implements OutboxSink {
+
+        final List<OutboxEvent> received = new CopyOnWriteArrayList<>();
+        final AtomicBoolean failNext = new AtomicBoolean();
+
+        @Override
+        public void publish(List<OutboxEvent> events) {
+            if (failNext.getAndSet(false)) {
+                throw new IllegalStateException("broker unavailable");
+            }
+            received.addAll(events);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAllInBatch();
+        sink.received.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAllInBatch();
+        bookingRepository.deleteAllInBatch();
+        loadRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createBooking_shouldRecordBookingAndLoadStatusChangeInItsTransaction() throws Exception {
+        UUID loadId = loadService.createLoad(load()).getId();
+        UUID bookingId = bookingService.createBooking(booking(loadId)).getId();
+
+        List<OutboxEvent> events = outboxEventRepository.findAll().stream()
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .toList();
+        assertEquals(List.of(OutboxEvent.LOAD, OutboxEvent.BOOKING, OutboxEvent.LOAD),
+                events.stream().map(OutboxEvent::getAggregateType).toList());
+        assertEquals(bookingId, events.get(1).getAggregateId());
+
+        // The payload carries the state that committed, including the bumped version
+        JsonNode booked = objectMapper.readTree(events.get(2).getPayload());
+        assertEquals("BOOKED", booked.get("status").asText());
+        assertEquals(loadRepository.findById(loadId).orElseThrow().getVersion(), booked.get("version").asLong());
+    }
+
+    @Test
+    void deleteLoad_shouldRecordADeletionForTheLoadAndEachOfItsBookings() {
+        UUID loadId = loadService.createLoad(load()).getId();
+        UUID first = bookingService.createBooking(booking(loadId)).getId();
+        UUID second = bookingService.createBooking(booking(loadId)).getId();
+        outboxEventRepository.deleteAllInBatch();
+
+        loadService.deleteLoad(loadId);
+
+        Map<UUID, String> deleted = outboxEventRepository.findAll().stream()
+                .filter(event -> OutboxEvent.DELETED.equals(event.getEventType()))
+                .collect(Collectors.toMap(OutboxEvent::getAggregateId, OutboxEvent::getAggregateType));
+        assertEquals(Map.of(loadId, OutboxEvent.LOAD, first, OutboxEvent.BOOKING, second, OutboxEvent.BOOKING), deleted);
+    }
+
+    @Test
+    void rolledBackChange_shouldLeaveNoEvent() {
+        transactionTemplate.executeWithoutResult(status -> {
+            loadService.createLoad(load());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(0, loadRepository.count());
+    }
+
+    @Test
+    void relay_shouldPublishOldestFirstInBatchesAndEmptyTheOutbox() {
+        UUID loadId = loadService.createLoad(load()).getId();
+        bookingService.createBooking(booking(loadId));
+        double relayedBefore = meterRegistry.counter("cargo.outbox.relayed").count();
+
+        outboxRelay.relay();
+
+        assertEquals(3, sink.received.size());
+        assertEquals(List.of(OutboxEvent.LOAD, OutboxEvent.BOOKING, OutboxEvent.LOAD),
+                sink.received.stream().map(OutboxEvent::getAggregateType).toList());
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(3, meterRegistry.counter("cargo.outbox.relayed").count() - relayedBefore);
+        assertEquals(3, meterRegistry.timer("cargo.outbox.lag").count());
+    }
+
+    @Test
+    void relay_shouldKeepEvents_whenSinkFails() {
+        loadService.createLoad(load());
+        sink.failNext.set(true);
+
+        assertThrows(IllegalStateException.class, outboxRelay::relay);
+        assertEquals(1, outboxEventRepository.count());
+
+        outboxRelay.relay();
+        assertEquals(1, sink.received.size());
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    private static LoadDTO load() {
+        FacilityDTO facility = new FacilityDTO();
+        facility.setLoadingPoint("Delhi");
+        facility.setUnloadingPoint("Mumbai");
+        facility.setLoadingDate(LocalDateTime.now().plusDays(1));
+        facility.setUnloadingDate(LocalDateTime.now().plusDays(3));
+
+        LoadDTO load = new LoadDTO();
+        load.setShipperId("SHIPPER001");
+        load.setFacility(facility);
+        load.setProductType("Electronics");
+        load.setTruckType("Container");
+        load.setNoOfTrucks(1);
+        load.setWeight(1000.0);
+        return load;
+    }
+
+    private static BookingDTO booking(UUID loadId) {
+        BookingDTO booking = new BookingDTO();
+        booking.setLoadId(loadId);
+        booking.setTransporterId("T1");
+        booking.setProposedRate(1200.0);
+        return booking;
+    }
+}
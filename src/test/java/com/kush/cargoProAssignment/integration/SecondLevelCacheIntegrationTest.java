@@ -0,0 +1,150 @@
+package com.kush.cargoProAssignment.integration;
+
+import com.kush.cargoProAssignment.config.SecondLevelCacheEndpoint;
+import com.kush.cargoProAssignment.config.SecondLevelCacheEndpoint.RegionStatistics;
+import com.kush.cargoProAssignment.config.SqlStatementCaptor;
+import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.dto.FacilityDTO;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.model.Load;
+import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import com.kush.cargoProAssignment.repository.BookingRepository;
+import com.kush.cargoProAssignment.repository.LoadRepository;
+import com.kush.cargoProAssignment.service.BookingService;
+import com.kush.cargoProAssignment.service.LoadService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Repository calls outside a service run in their own transaction, i.e. a fresh persistence context each time
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.kush.cargoProAssignment.config.SqlStatementCaptor")
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private LoadService loadService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SecondLevelCacheEndpoint secondLevelCacheEndpoint;
+
+    private UUID loadId;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        loadId = loadService.createLoad(load("SHIPPER001")).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAllInBatch();
+        loadRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void findById_shouldBeServedFromSecondLevelCache() {
+        SqlStatementCaptor.clear();
+
+        Load load = loadRepository.findById(loadId).orElseThrow();
+
+        assertTrue(SqlStatementCaptor.statements().isEmpty());
+        // The embedded facility is part of the cached entry
+        assertEquals("Delhi", load.getFacility().getLoadingPoint());
+    }
+
+    @Test
+    void findById_shouldSeeCommittedStatusChange() {
+        loadRepository.findById(loadId).orElseThrow();
+
+        bookingService.createBooking(booking());
+
+        SqlStatementCaptor.clear();
+        assertEquals(LoadStatus.BOOKED, loadRepository.findById(loadId).orElseThrow().getStatus());
+        assertTrue(SqlStatementCaptor.statements().isEmpty());
+    }
+
+    @Test
+    void getLoads_shouldServeRepeatedFilterQueriesFromQueryCache() {
+        loadService.getLoads("SHIPPER001", null, null, null, 1, 10);
+        SqlStatementCaptor.clear();
+
+        assertEquals(1, loadService.getLoads("SHIPPER001", null, null, null, 1, 10).getTotalElements());
+
+        assertTrue(SqlStatementCaptor.statements().isEmpty());
+    }
+
+    @Test
+    void getLoads_shouldRequeryAfterLoadsTableIsWritten() {
+        loadService.getLoads("SHIPPER001", null, null, null, 1, 10);
+
+        loadService.createLoad(load("SHIPPER001"));
+        SqlStatementCaptor.clear();
+
+        assertEquals(2, loadService.getLoads("SHIPPER001", null, null, null, 1, 10).getTotalElements());
+        assertFalse(SqlStatementCaptor.statements().isEmpty());
+    }
+
+    @Test
+    void endpoint_shouldReportHitRatioPerRegion() {
+        loadRepository.findById(loadId);
+        loadRepository.findById(loadId);
+        loadService.getLoads("SHIPPER001", null, null, null, 1, 10);
+
+        Map<String, RegionStatistics> regions = secondLevelCacheEndpoint.regions();
+
+        assertTrue(regions.keySet().containsAll(List.of("load-entities", "booking-entities", "load-filter-queries")),
+                regions::toString);
+        RegionStatistics loads = regions.get("load-entities");
+        assertTrue(loads.hits() >= 2);
+        assertTrue(loads.hitRatio() > 0.0 && loads.hitRatio() <= 1.0);
+    }
+
+    private LoadDTO load(String shipperId) {
+        FacilityDTO facility = new FacilityDTO();
+        facility.setLoadingPoint("Delhi");
+        facility.setUnloadingPoint("Mumbai");
+        facility.setLoadingDate(LocalDateTime.now().plusDays(1));
+        facility.setUnloadingDate(LocalDateTime.now().plusDays(3));
+
+        LoadDTO load = new LoadDTO();
+        load.setShipperId(shipperId);
+        load.setFacility(facility);
+        load.setProductType("Electronics");
+        load.setTruckType("Container");
+        load.setNoOfTrucks(2);
+        load.setWeight(5000.0);
+        return load;
+    }
+
+    private BookingDTO booking() {
+        BookingDTO booking = new BookingDTO();
+        booking.setLoadId(loadId);
+        booking.setTransporterId("T1");
+        booking.setProposedRate(1200.0);
+        return booking;
+    }
+}
@@ -0,0 +1,57 @@
+package com.kush.cargoProAssignment.mapper;
+
+import com.kush.cargoProAssignment.dto.BookingDTO;
+import com.kush.cargoProAssignment.model.Booking;
+import com.kush.cargoProAssignment.model.Load;
+import com.kush.cargoProAssignment.model.enums.BookingStatus;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingMapperTest {
+
+    private final BookingMapper bookingMapper = Mappers.getMapper(BookingMapper.class);
+
+    @Test
+    void toDto_shouldFlattenLoadId() {
+        Load load = new Load();
+        load.setId(UUID.randomUUID());
+
+        Booking booking = new Booking();
+        booking.setId(UUID.randomUUID());
+        booking.setLoad(load);
+        booking.setTransporterId("transporter1");
+        booking.setProposedRate(1500.0);
+        booking.setComment("Available tomorrow");
+        booking.setStatus(BookingStatus.ACCEPTED);
+        booking.setRequestedAt(LocalDateTime.now());
+
+        BookingDTO result = bookingMapper.toDto(booking);
+
+        assertEquals(booking.getId(), result.getId());
+        assertEquals(load.getId(), result.getLoadId());
+        assertEquals("transporter1", result.getTransporterId());
+        assertEquals(1500.0, result.getProposedRate());
+        assertEquals("Available tomorrow", result.getComment());
+        assertEquals(BookingStatus.ACCEPTED, result.getStatus());
+        assertEquals(booking.getRequestedAt(), result.getRequestedAt());
+    }
+
+    @Test
+    void toEntity_shouldNotResolveLoad() {
+        BookingDTO bookingDTO = new BookingDTO();
+        bookingDTO.setLoadId(UUID.randomUUID());
+        bookingDTO.setTransporterId("transporter1");
+        bookingDTO.setProposedRate(900.0);
+
+        Booking result = bookingMapper.toEntity(bookingDTO);
+
+        assertNull(result.getLoad());
+        assertEquals("transporter1", result.getTransporterId());
+        assertEquals(900.0, result.getProposedRate());
+    }
+}
@@ -0,0 +1,84 @@
+package com.kush.cargoProAssignment.mapper;
+
+import com.kush.cargoProAssignment.dto.FacilityDTO;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.model.Facility;
+import com.kush.cargoProAssignment.model.Load;
+import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadMapperTest {
+
+    private final LoadMapper loadMapper = Mappers.getMapper(LoadMapper.class);
+
+    @Test
+    void toDto_shouldCopyAllFieldsIncludingFacility() {
+        LocalDateTime loadingDate = LocalDateTime.now();
+        Facility facility = new Facility("Delhi", "Mumbai", loadingDate, loadingDate.plusDays(2));
+
+        Load load = new Load();
+        load.setId(UUID.randomUUID());
+        load.setShipperId("shipper1");
+        load.setFacility(facility);
+        load.setProductType("Electronics");
+        load.setTruckType("Container");
+        load.setNoOfTrucks(2);
+        load.setWeight(500.0);
+        load.setComment("Fragile");
+        load.setDatePosted(loadingDate.minusDays(1));
+        load.setStatus(LoadStatus.BOOKED);
+
+        LoadDTO result = loadMapper.toDto(load);
+
+        assertEquals(load.getId(), result.getId());
+        assertEquals("shipper1", result.getShipperId());
+        assertEquals("Electronics", result.getProductType());
+        assertEquals("Container", result.getTruckType());
+        assertEquals(2, result.getNoOfTrucks());
+        assertEquals(500.0, result.getWeight());
+        assertEquals("Fragile", result.getComment());
+        assertEquals(load.getDatePosted(), result.getDatePosted());
+        assertEquals(LoadStatus.BOOKED, result.getStatus());
+        assertEquals("Delhi", result.getFacility().getLoadingPoint());
+        assertEquals("Mumbai", result.getFacility().getUnloadingPoint());
+        assertEquals(loadingDate, result.getFacility().getLoadingDate());
+        assertEquals(loadingDate.plusDays(2), result.getFacility().getUnloadingDate());
+    }
+
+    @Test
+    void toEntity_shouldCopyFieldsAndLeaveBookingsUnset() {
+        FacilityDTO facilityDTO = new FacilityDTO();
+        facilityDTO.setLoadingPoint("Point A");
+        facilityDTO.setUnloadingPoint("Point B");
+        facilityDTO.setLoadingDate(LocalDateTime.now());
+        facilityDTO.setUnloadingDate(LocalDateTime.now().plusDays(1));
+
+        LoadDTO loadDTO = new LoadDTO();
+        loadDTO.setShipperId("shipper1");
+        loadDTO.setFacility(facilityDTO);
+        loadDTO.setProductType("Furniture");
+        loadDTO.setTruckType("Flatbed");
+        loadDTO.setNoOfTrucks(1);
+        loadDTO.setWeight(100.0);
+
+        Load result = loadMapper.toEntity(loadDTO);
+
+        assertEquals("shipper1", result.getShipperId());
+        assertEquals("Furniture", result.getProductType());
+        assertEquals("Point A", result.getFacility().getLoadingPoint());
+        assertEquals(facilityDTO.getUnloadingDate(), result.getFacility().getUnloadingDate());
+        assertNull(result.getBookings());
+    }
+
+    @Test
+    void toDto_shouldReturnNull_whenSourceIsNull() {
+        assertNull(loadMapper.toDto((Load) null));
+        assertNull(loadMapper.toEntity((FacilityDTO) null));
+    }
+}
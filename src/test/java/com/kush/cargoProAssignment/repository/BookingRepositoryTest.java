@@ -1,5 +1,7 @@
 package com.kush.cargoProAssignment.repository;
 
+import com.kush.cargoProAssignment.dto.LoadRateSummaryDTO;
+import com.kush.cargoProAssignment.dto.BookingDTO;
 import com.kush.cargoProAssignment.model.Booking;
 import com.kush.cargoProAssignment.model.Facility;
 import com.kush.cargoProAssignment.model.Load;
@@ -9,11 +11,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -79,27 +86,56 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByFilters_shouldReturnFilteredBookings() {
-        List<Booking> result = bookingRepository.findByFilters(load1.getId(), "transporter1", BookingStatus.PENDING);
+    void findDtosByFilters_shouldReturnFilteredBookings() {
+        Page<BookingDTO> result = bookingRepository.findDtosByFilters(load1.getId(), "transporter1",
+                BookingStatus.PENDING, PageRequest.of(0, 10));
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(booking1.getId(), result.get(0).getId());
-        assertEquals("transporter1", result.get(0).getTransporterId());
+        assertEquals(1, result.getTotalElements());
+        assertEquals(booking1.getId(), result.getContent().get(0).getId());
+        assertEquals("transporter1", result.getContent().get(0).getTransporterId());
     }
 
     @Test
-    void findByFilters_shouldReturnAllBookings_whenNoFiltersProvided() {
-        List<Booking> result = bookingRepository.findByFilters(null, null, null);
-        assertNotNull(result);
-        assertEquals(2, result.size());
+    void findDtosByFilters_shouldProjectBookingsWithTheirLoadId() {
+        booking1.setComment("Ready tomorrow");
+        bookingRepository.save(booking1);
+
+        Page<BookingDTO> result = bookingRepository.findDtosByFilters(load1.getId(), null, null, PageRequest.of(0, 10));
+
+        assertEquals(1, result.getTotalElements());
+        BookingDTO dto = result.getContent().get(0);
+        assertEquals(booking1.getId(), dto.getId());
+        assertEquals(load1.getId(), dto.getLoadId());
+        assertEquals("transporter1", dto.getTransporterId());
+        assertEquals(500.0, dto.getProposedRate());
+        assertEquals("Ready tomorrow", dto.getComment());
+        assertEquals(BookingStatus.PENDING, dto.getStatus());
+        assertNotNull(dto.getRequestedAt());
+        assertEquals(booking1.getVersion(), dto.getVersion());
     }
 
     @Test
-    void findByLoad_shouldReturnBookingsForSpecificLoad() {
-        List<Booking> result = bookingRepository.findByLoad(load1);
+    void findDtosByFilters_shouldReturnAllBookings_whenNoFiltersProvided() {
+        Page<BookingDTO> result = bookingRepository.findDtosByFilters(null, null, null, PageRequest.of(0, 10));
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(booking1.getId(), result.get(0).getId());
+        assertEquals(2, result.getTotalElements());
+    }
+
+    @Test
+    void findDtosByFilters_shouldLimitResultsToRequestedPage() {
+        Page<BookingDTO> result = bookingRepository.findDtosByFilters(null, null, null, PageRequest.of(0, 1));
+        assertEquals(1, result.getContent().size());
+        assertEquals(2, result.getTotalElements());
+        assertEquals(2, result.getTotalPages());
+    }
+
+    @Test
+    void streamByFilters_shouldStreamMatchingBookings() {
+        List<UUID> ids;
+        try (Stream<Booking> stream = bookingRepository.streamByFilters(null, null, BookingStatus.ACCEPTED)) {
+            ids = stream.map(Booking::getId).collect(Collectors.toList());
+        }
+        assertEquals(List.of(booking2.getId()), ids);
     }
 
     @Test
@@ -113,4 +149,44 @@ class BookingRepositoryTest {
         boolean exists = bookingRepository.existsByLoadAndStatus(load1, BookingStatus.ACCEPTED);
         assertFalse(exists);
     }
-}
\ No newline at end of file
+
+    @Test
+    void summarizeRatesByLoad_shouldReturnCountAverageAndMinimumPerLoad() {
+        Booking booking3 = new Booking();
+        booking3.setLoad(load1);
+        booking3.setTransporterId("transporter3");
+        booking3.setProposedRate(300.0);
+        booking3.setStatus(BookingStatus.PENDING);
+        bookingRepository.save(booking3);
+
+        Page<LoadRateSummaryDTO> result = bookingRepository.summarizeRatesByLoad("shipper1", null, PageRequest.of(0, 10));
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(new LoadRateSummaryDTO(load1.getId(), 2L, 400.0, 300.0), result.getContent().get(0));
+    }
+
+    @Test
+    void summarizeRatesByLoad_shouldCountGroupsForPaging() {
+        Page<LoadRateSummaryDTO> result = bookingRepository.summarizeRatesByLoad(null, null, PageRequest.of(0, 1));
+
+        assertEquals(1, result.getContent().size());
+        assertEquals(2, result.getTotalElements());
+    }
+
+    @Test
+    void findLowestPendingBids_shouldReturnCheapestPendingBidsFirst() {
+        for (double rate : new double[]{800.0, 450.0, 600.0, 300.0}) {
+            Booking booking = new Booking();
+            booking.setLoad(load1);
+            booking.setTransporterId("transporter-" + rate);
+            booking.setProposedRate(rate);
+            booking.setStatus(rate == 300.0 ? BookingStatus.REJECTED : BookingStatus.PENDING);
+            bookingRepository.save(booking);
+        }
+
+        List<Booking> result = bookingRepository.findLowestPendingBids(load1.getId(), Limit.of(3));
+
+        // 300 is rejected; booking1 (500) is pending
+        assertEquals(List.of(450.0, 500.0, 600.0), result.stream().map(Booking::getProposedRate).toList());
+    }
+}
@@ -0,0 +1,85 @@
+package com.kush.cargoProAssignment.repository;
+
+import com.kush.cargoProAssignment.config.SqlStatementCaptor;
+import com.kush.cargoProAssignment.model.Booking;
+import com.kush.cargoProAssignment.model.Facility;
+import com.kush.cargoProAssignment.model.Load;
+import com.kush.cargoProAssignment.model.enums.BookingStatus;
+import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Checks the SQL the repositories generate for the common filter combinations. Which indexes PostgreSQL plans for
+// it is checked against the migrated schema in FlywayMigrationTest; H2's planner says nothing about that.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.kush.cargoProAssignment.config.SqlStatementCaptor")
+@ActiveProfiles("test")
+class FilterQueryPlanTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private LoadRepository loadRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 20; i++) {
+            Load saved = new Load();
+            saved.setShipperId("shipper" + (i % 5));
+            saved.setProductType("Electronics");
+            saved.setTruckType(i % 2 == 0 ? "Container" : "Flatbed");
+            saved.setWeight(100.0);
+            saved.setNoOfTrucks(1);
+            saved.setStatus(i % 3 == 0 ? LoadStatus.BOOKED : LoadStatus.POSTED);
+            saved.setFacility(new Facility("Point A", "Point B", LocalDateTime.now(), LocalDateTime.now().plusDays(1)));
+            Load load = loadRepository.save(saved);
+
+            Booking booking = new Booking();
+            booking.setLoad(load);
+            booking.setTransporterId("transporter" + (i % 4));
+            booking.setProposedRate(500.0 + i);
+            booking.setStatus(BookingStatus.PENDING);
+            bookingRepository.save(booking);
+        }
+        loadRepository.flush();
+        SqlStatementCaptor.clear();
+    }
+
+    @Test
+    void absentFilters_shouldNotAppearInGeneratedSql() {
+        loadRepository.findDtosByFilters(null, "Container", null, null, PageRequest.of(0, PAGE_SIZE));
+        bookingRepository.findDtosByFilters(null, null, BookingStatus.PENDING, PageRequest.of(0, PAGE_SIZE));
+
+        List<String> statements = SqlStatementCaptor.statements();
+        assertFalse(statements.isEmpty());
+        statements.forEach(sql -> assertFalse(sql.toLowerCase().contains("is null"), sql));
+    }
+
+    @Test
+    void rateSummary_shouldJoinLoadsOnlyForLoadFilters() {
+        bookingRepository.summarizeRatesByLoad(null, null, PageRequest.of(0, 1));
+        List<String> unfiltered = SqlStatementCaptor.statements();
+        SqlStatementCaptor.clear();
+        bookingRepository.summarizeRatesByLoad("shipper1", null, PageRequest.of(0, 1));
+        List<String> byShipper = SqlStatementCaptor.statements();
+
+        // Page and count query each; without a load filter both read bookings alone
+        assertEquals(2, unfiltered.size(), unfiltered::toString);
+        unfiltered.forEach(sql -> assertFalse(sql.contains(" join "), sql));
+        assertEquals(2, byShipper.size(), byShipper::toString);
+        byShipper.forEach(sql -> assertTrue(sql.contains(" join loads "), sql));
+        byShipper.forEach(sql -> assertFalse(sql.toLowerCase().contains("is null"), sql));
+    }
+}
@@ -1,5 +1,8 @@
 package com.kush.cargoProAssignment.repository;
 
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.dto.LoadDateFilterDTO;
+import com.kush.cargoProAssignment.dto.LoadSummaryDTO;
 import com.kush.cargoProAssignment.model.Facility;
 import com.kush.cargoProAssignment.model.Load;
 import com.kush.cargoProAssignment.model.enums.LoadStatus;
@@ -10,12 +13,18 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -30,7 +39,7 @@ class LoadRepositoryTest {
     }
 
     @Test
-    void findByFilters_shouldReturnFilteredLoads() {
+    void findDtosByFilters_shouldReturnFilteredLoads() {
         Facility facility = new Facility();
         facility.setLoadingPoint("Point A");
         facility.setUnloadingPoint("Point B");
@@ -58,7 +67,8 @@ class LoadRepositoryTest {
         loadRepository.save(load2);
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Load> result = loadRepository.findByFilters("shipper1", "FLATBED", LoadStatus.POSTED, pageable);
+        Page<LoadDTO> result = loadRepository.findDtosByFilters("shipper1", "FLATBED", LoadStatus.POSTED, null,
+                pageable);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
@@ -66,7 +76,72 @@ class LoadRepositoryTest {
     }
 
     @Test
-    void findByFilters_shouldReturnAllLoads_whenNoFiltersAreProvided() {
+    void findDtosByFilters_shouldApplyInclusiveDateRanges() {
+        LocalDateTime base = LocalDateTime.of(2024, 8, 1, 10, 0);
+        for (int day = 0; day < 5; day++) {
+            Load load = new Load();
+            load.setShipperId("shipper1");
+            load.setTruckType("Container");
+            load.setStatus(day == 2 ? LoadStatus.BOOKED : LoadStatus.POSTED);
+            load.setProductType("Electronics");
+            load.setWeight(100.0);
+            load.setNoOfTrucks(1);
+            load.setFacility(new Facility("Point A", "Point B", base.plusDays(day), base.plusDays(day + 2)));
+            loadRepository.save(load);
+        }
+
+        LoadDateFilterDTO loadingWindow = new LoadDateFilterDTO(base.plusDays(1), base.plusDays(3), null, null);
+        Page<LoadDTO> result = loadRepository.findDtosByFilters(null, null, LoadStatus.POSTED, loadingWindow,
+                PageRequest.of(0, 10));
+
+        assertEquals(List.of(base.plusDays(1), base.plusDays(3)), result.getContent().stream()
+                .map(load -> load.getFacility().getLoadingDate()).sorted().toList());
+
+        LoadDateFilterDTO unloadingFrom = new LoadDateFilterDTO(null, null, base.plusDays(5), null);
+        assertEquals(2, loadRepository.findDtosByFilters("shipper1", null, null, unloadingFrom,
+                PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void findDtosByFilters_shouldProjectTheSamePageAsTheEntityQuery() {
+        LocalDateTime base = LocalDateTime.of(2024, 8, 1, 10, 0);
+        for (int day = 0; day < 5; day++) {
+            Load load = new Load();
+            load.setShipperId("shipper1");
+            load.setTruckType("Container");
+            load.setProductType("Electronics");
+            load.setWeight(100.0 + day);
+            load.setNoOfTrucks(1);
+            load.setComment("Day " + day);
+            load.setFacility(new Facility("Point A", "Point B", base.plusDays(day), base.plusDays(day + 2),
+                    28.61, 77.21, day == 0 ? null : 19.07, day == 0 ? null : 72.87));
+            loadRepository.save(load);
+        }
+        LoadDateFilterDTO loadingFrom = new LoadDateFilterDTO(base.plusDays(1), null, null, null);
+        PageRequest pageable = PageRequest.of(1, 2, LoadSpecifications.KEYSET_ORDER);
+
+        Page<Load> entities = loadRepository.findAll(
+                LoadSpecifications.withFilters("shipper1", null, LoadStatus.POSTED, loadingFrom), pageable);
+        Page<LoadDTO> dtos = loadRepository.findDtosByFilters("shipper1", null, LoadStatus.POSTED, loadingFrom, pageable);
+
+        assertEquals(4, dtos.getTotalElements());
+        assertEquals(entities.getContent().size(), dtos.getContent().size());
+        for (int i = 0; i < dtos.getContent().size(); i++) {
+            Load load = entities.getContent().get(i);
+            LoadDTO dto = dtos.getContent().get(i);
+            assertEquals(load.getId(), dto.getId());
+            assertEquals(load.getWeight(), dto.getWeight());
+            assertEquals(load.getComment(), dto.getComment());
+            assertEquals(load.getDatePosted(), dto.getDatePosted());
+            assertEquals(load.getStatus(), dto.getStatus());
+            assertEquals(load.getVersion(), dto.getVersion());
+            assertEquals(load.getFacility().getLoadingDate(), dto.getFacility().getLoadingDate());
+            assertEquals(load.getFacility().getUnloadingLongitude(), dto.getFacility().getUnloadingLongitude());
+        }
+    }
+
+    @Test
+    void findDtosByFilters_shouldReturnAllLoads_whenNoFiltersAreProvided() {
         Facility facility = new Facility();
         facility.setLoadingPoint("Point A");
         facility.setUnloadingPoint("Point B");
@@ -92,9 +167,101 @@ class LoadRepositoryTest {
         loadRepository.save(load2);
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Load> result = loadRepository.findByFilters(null, null, null, pageable);
+        Page<LoadDTO> result = loadRepository.findDtosByFilters(null, null, null, null, pageable);
 
         assertNotNull(result);
         assertEquals(2, result.getTotalElements());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findByFiltersAfter_shouldWalkAllMatchingLoadsInKeysetOrder() {
+        List<Load> saved = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Facility facility = new Facility("Point A", "Point B", LocalDateTime.now(), LocalDateTime.now().plusDays(1));
+            Load load = new Load();
+            load.setShipperId("shipper1");
+            load.setProductType("Electronics");
+            load.setTruckType("Container");
+            load.setWeight(100.0);
+            load.setNoOfTrucks(1);
+            load.setFacility(facility);
+            saved.add(loadRepository.save(load));
+        }
+        Load other = new Load();
+        other.setShipperId("shipper2");
+        other.setProductType("Furniture");
+        other.setTruckType("Container");
+        other.setWeight(100.0);
+        other.setNoOfTrucks(1);
+        other.setFacility(new Facility("Point A", "Point B", LocalDateTime.now(), LocalDateTime.now().plusDays(1)));
+        loadRepository.save(other);
+
+        List<Load> walked = new ArrayList<>();
+        LocalDateTime datePosted = null;
+        UUID id = null;
+        Slice<Load> slice;
+        do {
+            slice = loadRepository.findByFiltersAfter("shipper1", null, null, null, datePosted, id, PageRequest.ofSize(2));
+            walked.addAll(slice.getContent());
+            Load last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            datePosted = last.getDatePosted();
+            id = last.getId();
+        } while (slice.hasNext());
+
+        assertEquals(5, walked.size());
+        Set<UUID> ids = new HashSet<>();
+        walked.forEach(load -> ids.add(load.getId()));
+        assertEquals(5, ids.size());
+        for (int i = 1; i < walked.size(); i++) {
+            assertFalse(walked.get(i).getDatePosted().isAfter(walked.get(i - 1).getDatePosted()));
+        }
+        assertTrue(walked.stream().allMatch(load -> "shipper1".equals(load.getShipperId())));
+        assertEquals(saved.stream().max(Comparator.comparing(Load::getDatePosted)).get().getDatePosted(),
+                walked.get(0).getDatePosted());
+    }
+
+    @Test
+    void summarizeByShipper_shouldCountStatusesAndSumWeightAndTrucksPerShipper() {
+        saveLoad("shipper1", "FLATBED", LoadStatus.POSTED, 100.0, 1);
+        saveLoad("shipper1", "TILT", LoadStatus.BOOKED, 250.0, 3);
+        saveLoad("shipper1", "TILT", LoadStatus.CANCELLED, 50.0, 1);
+        saveLoad("shipper2", "TILT", LoadStatus.POSTED, 200.0, 2);
+
+        List<LoadSummaryDTO> result = loadRepository.summarizeByShipper();
+
+        assertEquals(List.of(
+                new LoadSummaryDTO("shipper1", 3L, 1L, 1L, 1L, 400.0, 5L),
+                new LoadSummaryDTO("shipper2", 1L, 1L, 0L, 0L, 200.0, 2L)), result);
+    }
+
+    @Test
+    void summarizeByTruckType_shouldGroupByTruckType() {
+        saveLoad("shipper1", "FLATBED", LoadStatus.POSTED, 100.0, 1);
+        saveLoad("shipper1", "TILT", LoadStatus.BOOKED, 250.0, 3);
+        saveLoad("shipper2", "TILT", LoadStatus.POSTED, 200.0, 2);
+
+        List<LoadSummaryDTO> result = loadRepository.summarizeByTruckType();
+
+        assertEquals(List.of(
+                new LoadSummaryDTO("FLATBED", 1L, 1L, 0L, 0L, 100.0, 1L),
+                new LoadSummaryDTO("TILT", 2L, 1L, 1L, 0L, 450.0, 5L)), result);
+    }
+
+    private Load saveLoad(String shipperId, String truckType, LoadStatus status, double weight, int trucks) {
+        Facility facility = new Facility();
+        facility.setLoadingPoint("Point A");
+        facility.setUnloadingPoint("Point B");
+        facility.setLoadingDate(LocalDateTime.now());
+        facility.setUnloadingDate(LocalDateTime.now().plusDays(1));
+
+        Load load = new Load();
+        load.setShipperId(shipperId);
+        load.setTruckType(truckType);
+        load.setStatus(status);
+        load.setProductType("Electronics");
+        load.setWeight(weight);
+        load.setNoOfTrucks(trucks);
+        load.setFacility(facility);
+        return loadRepository.save(load);
+    }
+}
@@ -1,26 +1,47 @@
 package com.kush.cargoProAssignment.service;
 
+import com.kush.cargoProAssignment.config.CacheConfig;
+import com.kush.cargoProAssignment.dto.BookingAwardDTO;
 import com.kush.cargoProAssignment.dto.BookingDTO;
 import com.kush.cargoProAssignment.exceptions.BusinessException;
+import com.kush.cargoProAssignment.exceptions.ConflictException;
+import com.kush.cargoProAssignment.exceptions.PreconditionFailedException;
 import com.kush.cargoProAssignment.exceptions.ResourceNotFoundException;
+import com.kush.cargoProAssignment.mapper.BookingMapper;
 import com.kush.cargoProAssignment.model.Booking;
 import com.kush.cargoProAssignment.model.Load;
+import com.kush.cargoProAssignment.model.LoadBookingCounts;
 import com.kush.cargoProAssignment.model.enums.BookingStatus;
 import com.kush.cargoProAssignment.model.enums.LoadStatus;
 import com.kush.cargoProAssignment.repository.BookingRepository;
+import com.kush.cargoProAssignment.repository.LoadBookingCountsRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
-
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,11 +53,27 @@ class BookingServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private LoadBookingCountsRepository loadBookingCountsRepository;
+
     @Mock
     private LoadService loadService;
 
     @Mock
-    private ModelMapper modelMapper;
+    private BookingMapper bookingMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Spy
+    private OptimisticRetry optimisticRetry =
+            new OptimisticRetry(TransactionOperations.withoutTransaction(), 3, Duration.ZERO);
 
     @InjectMocks
     private BookingService bookingService;
@@ -69,9 +106,9 @@ class BookingServiceTest {
     void createBooking_shouldSetLoadStatusToBooked_whenSuccessful() {
         // Given
         when(loadService.findEntityById(loadId)).thenReturn(load);
-        when(modelMapper.map(bookingDTO, Booking.class)).thenReturn(booking);
+        when(bookingMapper.toEntity(bookingDTO)).thenReturn(booking);
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
-        when(modelMapper.map(booking, BookingDTO.class)).thenReturn(bookingDTO);
+        when(bookingMapper.toDto(booking)).thenReturn(bookingDTO);
 
         // When
         BookingDTO result = bookingService.createBooking(bookingDTO);
@@ -79,7 +116,8 @@ class BookingServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(BookingStatus.PENDING, booking.getStatus());
-        verify(loadService, times(1)).updateLoadStatus(loadId, LoadStatus.BOOKED);
+        verify(loadService, times(1)).updateLoadStatus(load, LoadStatus.BOOKED);
+        verify(eventPublisher).publishEvent(BookingChangedEvent.saved(booking));
     }
 
     @Test
@@ -94,26 +132,40 @@ class BookingServiceTest {
     }
 
     @Test
-    void getBookings_shouldReturnListOfBookingDTOs() {
+    void getBookings_shouldReturnPageOfBookingDTOs() {
         // Given
-        List<Booking> bookingList = Collections.singletonList(booking);
-        when(bookingRepository.findByFilters(any(), any(), any())).thenReturn(bookingList);
-        when(modelMapper.map(any(Booking.class), eq(BookingDTO.class))).thenReturn(bookingDTO);
+        Page<BookingDTO> bookingPage = new PageImpl<>(Collections.singletonList(bookingDTO));
+        when(bookingRepository.findDtosByFilters(loadId, null, null, PageRequest.of(0, 10))).thenReturn(bookingPage);
 
         // When
-        List<BookingDTO> result = bookingService.getBookings(loadId, null, null);
+        Page<BookingDTO> result = bookingService.getBookings(loadId, null, null, 1, 10);
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(bookingDTO, result.get(0));
+        assertEquals(1, result.getTotalElements());
+        assertEquals(bookingDTO, result.getContent().get(0));
+    }
+
+    @Test
+    void streamBookings_shouldPassEachBookingToConsumerAndDetachIt() {
+        // Given
+        when(bookingRepository.streamByFilters(loadId, null, null)).thenReturn(Stream.of(booking));
+        when(bookingMapper.toDto(booking)).thenReturn(bookingDTO);
+        List<BookingDTO> received = new ArrayList<>();
+
+        // When
+        bookingService.streamBookings(loadId, null, null, received::add);
+
+        // Then
+        assertEquals(Collections.singletonList(bookingDTO), received);
+        verify(entityManager, times(1)).detach(booking);
     }
 
     @Test
     void getBookingById_shouldReturnBookingDTO_whenBookingExists() {
         // Given
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
-        when(modelMapper.map(booking, BookingDTO.class)).thenReturn(bookingDTO);
+        when(bookingMapper.toDto(booking)).thenReturn(bookingDTO);
 
         // When
         BookingDTO result = bookingService.getBookingById(bookingId);
@@ -131,8 +183,7 @@ class BookingServiceTest {
         updatedDto.setStatus(BookingStatus.ACCEPTED);
 
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
-        when(modelMapper.map(booking, BookingDTO.class)).thenReturn(updatedDto);
+        when(bookingMapper.toDto(booking)).thenReturn(updatedDto);
 
         // When
         BookingDTO result = bookingService.updateBooking(bookingId, updatedDto);
@@ -140,7 +191,20 @@ class BookingServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(BookingStatus.ACCEPTED, booking.getStatus());
-        verify(loadService, times(1)).updateLoadStatus(loadId, LoadStatus.BOOKED);
+        verify(loadService, times(1)).transitionStatus(load, LoadStatus.BOOKED);
+        verify(loadBookingCountsRepository).count(loadId, BookingStatus.PENDING, BookingStatus.ACCEPTED);
+    }
+
+    @Test
+    void updateBooking_shouldFailPrecondition_whenVersionDiffers() {
+        // Given
+        booking.setVersion(5L);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+
+        // When & Then
+        assertThrows(PreconditionFailedException.class,
+                () -> bookingService.updateBooking(bookingId, new BookingDTO(), Set.of(4L)));
+        verify(bookingRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -151,23 +215,22 @@ class BookingServiceTest {
         updatedDto.setStatus(BookingStatus.ACCEPTED);
 
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
-        when(modelMapper.map(booking, BookingDTO.class)).thenReturn(updatedDto);
+        when(bookingMapper.toDto(booking)).thenReturn(updatedDto);
 
         // When
         BookingDTO result = bookingService.updateBooking(bookingId, updatedDto);
 
         // Then
         assertNotNull(result);
-        verify(loadService, never()).updateLoadStatus(any(), any());
+        verify(loadService, never()).transitionStatus(any(), any());
     }
 
     @Test
     void deleteBooking_shouldRevertLoadStatusToCancelled_whenLastBookingIsDeleted() {
         // Given
-        List<Booking> remainingBookings = Collections.emptyList();
+        load.setStatus(LoadStatus.BOOKED);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
-        when(bookingRepository.findByLoad(load)).thenReturn(remainingBookings);
+        when(loadBookingCountsRepository.findCounts(loadId)).thenReturn(Optional.of(new LoadBookingCounts(loadId, 0, 0, 0)));
         doNothing().when(bookingRepository).delete(any(Booking.class));
 
         // When
@@ -175,17 +238,17 @@ class BookingServiceTest {
 
         // Then
         verify(bookingRepository, times(1)).delete(booking);
-        verify(loadService, times(1)).updateLoadStatus(loadId, LoadStatus.CANCELLED);
+        verify(loadBookingCountsRepository).count(loadId, BookingStatus.PENDING, null);
+        verify(loadService, times(1)).transitionStatus(load, LoadStatus.CANCELLED);
+        verify(eventPublisher).publishEvent(BookingChangedEvent.deleted(booking));
     }
 
     @Test
     void deleteBooking_shouldRevertLoadStatusToPosted_whenOtherBookingsRemainAndNoneAreAccepted() {
         // Given
-        Booking otherBooking = new Booking();
-        otherBooking.setStatus(BookingStatus.PENDING);
-        List<Booking> remainingBookings = Collections.singletonList(otherBooking);
+        load.setStatus(LoadStatus.BOOKED);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
-        when(bookingRepository.findByLoad(load)).thenReturn(remainingBookings);
+        when(loadBookingCountsRepository.findCounts(loadId)).thenReturn(Optional.of(new LoadBookingCounts(loadId, 2, 0, 1)));
         doNothing().when(bookingRepository).delete(any(Booking.class));
 
         // When
@@ -193,17 +256,14 @@ class BookingServiceTest {
 
         // Then
         verify(bookingRepository, times(1)).delete(booking);
-        verify(loadService, times(1)).updateLoadStatus(loadId, LoadStatus.POSTED);
+        verify(loadService, times(1)).transitionStatus(load, LoadStatus.POSTED);
     }
 
     @Test
     void deleteBooking_shouldKeepLoadStatusAsBooked_whenOtherAcceptedBookingsRemain() {
         // Given
-        Booking otherBooking = new Booking();
-        otherBooking.setStatus(BookingStatus.ACCEPTED);
-        List<Booking> remainingBookings = Collections.singletonList(otherBooking);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
-        when(bookingRepository.findByLoad(load)).thenReturn(remainingBookings);
+        when(loadBookingCountsRepository.findCounts(loadId)).thenReturn(Optional.of(new LoadBookingCounts(loadId, 3, 1, 0)));
         doNothing().when(bookingRepository).delete(any(Booking.class));
 
         // When
@@ -211,6 +271,136 @@ class BookingServiceTest {
 
         // Then
         verify(bookingRepository, times(1)).delete(booking);
-        verify(loadService, never()).updateLoadStatus(any(), any());
+        verify(loadService, never()).transitionStatus(any(), any());
+    }
+
+    @Test
+    void acceptBooking_shouldRejectWithConflict_whenLoadAlreadyHasAcceptedBooking() {
+        // Given
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.existsByLoadAndStatus(load, BookingStatus.ACCEPTED)).thenReturn(true);
+
+        // When & Then
+        assertThrows(ConflictException.class, () -> bookingService.acceptBooking(bookingId));
+        assertEquals(BookingStatus.PENDING, booking.getStatus());
+        verify(loadService, never()).transitionStatus(any(), any());
+    }
+
+    @Test
+    void acceptBooking_shouldRetry_whenLoadVersionChangedConcurrently() {
+        // Given
+        when(bookingRepository.findById(bookingId)).thenAnswer(invocation -> Optional.of(pendingBooking()));
+        doThrow(new ObjectOptimisticLockingFailureException(Load.class, loadId))
+                .doNothing()
+                .when(loadService).transitionStatus(load, LoadStatus.BOOKED);
+        when(bookingMapper.toDto(any(Booking.class))).thenReturn(bookingDTO);
+
+        // When
+        bookingService.acceptBooking(bookingId);
+
+        // Then
+        verify(loadService, times(2)).transitionStatus(load, LoadStatus.BOOKED);
+        verify(optimisticRetry, times(1)).execute(any());
+    }
+
+    @Test
+    void acceptBooking_shouldGiveUpWithConflict_afterMaxAttempts() {
+        // Given
+        when(bookingRepository.findById(bookingId)).thenAnswer(invocation -> Optional.of(pendingBooking()));
+        doThrow(new ObjectOptimisticLockingFailureException(Load.class, loadId))
+                .when(loadService).transitionStatus(load, LoadStatus.BOOKED);
+
+        // When & Then
+        assertThrows(ConflictException.class, () -> bookingService.acceptBooking(bookingId));
+        verify(loadService, times(3)).transitionStatus(load, LoadStatus.BOOKED);
+    }
+
+    @Test
+    void awardBooking_shouldAcceptAndRejectTheOtherPendingBookingsInChunks() {
+        // Given
+        List<UUID> pendingIds = Stream.generate(UUID::randomUUID).limit(BookingService.REJECT_CHUNK_SIZE + 1).toList();
+        ConcurrentMapCache bookings = new ConcurrentMapCache(CacheConfig.BOOKINGS);
+        bookings.put(pendingIds.get(0), bookingDTO);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        // The booking being awarded is locked with the others but not rejected
+        when(bookingRepository.findPendingIds(loadId))
+                .thenReturn(Stream.concat(Stream.of(bookingId), pendingIds.stream()).toList());
+        when(bookingRepository.rejectPending(any())).thenAnswer(invocation -> invocation.<List<UUID>>getArgument(0).size());
+        when(bookingMapper.toDto(booking)).thenReturn(bookingDTO);
+        when(cacheManager.getCache(CacheConfig.BOOKINGS)).thenReturn(bookings);
+
+        // When
+        BookingAwardDTO award = bookingService.awardBooking(bookingId);
+
+        // Then
+        assertEquals(new BookingAwardDTO(bookingDTO, 1, pendingIds.size()), award);
+        assertEquals(BookingStatus.ACCEPTED, booking.getStatus());
+        verify(bookingRepository, times(2)).rejectPending(any());
+        verify(loadBookingCountsRepository).count(loadId, BookingStatus.PENDING, BookingStatus.ACCEPTED);
+        verify(loadBookingCountsRepository).count(loadId, BookingStatus.PENDING, BookingStatus.REJECTED, pendingIds.size());
+        verify(eventPublisher).publishEvent(new BookingsRejectedEvent(loadId, pendingIds));
+        assertNull(bookings.get(pendingIds.get(0)));
+    }
+
+    @Test
+    void awardBooking_shouldRetry_whenFewerBookingsAreRejectedThanWereRead() {
+        // Given
+        booking.setStatus(BookingStatus.ACCEPTED);
+        UUID deletedId = UUID.randomUUID();
+        UUID pendingId = UUID.randomUUID();
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findPendingIds(loadId))
+                .thenReturn(List.of(deletedId, pendingId), List.of(pendingId));
+        when(bookingRepository.rejectPending(List.of(deletedId, pendingId))).thenReturn(1);
+        when(bookingRepository.rejectPending(List.of(pendingId))).thenReturn(1);
+        when(bookingMapper.toDto(booking)).thenReturn(bookingDTO);
+
+        // When
+        BookingAwardDTO award = bookingService.awardBooking(bookingId);
+
+        // Then
+        assertEquals(0, award.getAccepted());
+        assertEquals(1, award.getRejected());
+        verify(loadService, never()).transitionStatus(any(), any());
+        verify(loadBookingCountsRepository).count(loadId, BookingStatus.PENDING, BookingStatus.REJECTED, 1);
+        verify(eventPublisher).publishEvent(new BookingsRejectedEvent(loadId, List.of(pendingId)));
+    }
+
+    @Test
+    void awardBooking_shouldRejectWithConflict_whenLoadAlreadyHasAcceptedBooking() {
+        // Given
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.existsByLoadAndStatus(load, BookingStatus.ACCEPTED)).thenReturn(true);
+
+        // When & Then
+        assertThrows(ConflictException.class, () -> bookingService.awardBooking(bookingId));
+        verify(bookingRepository, never()).rejectPending(any());
+    }
+
+    @Test
+    void getTopBids_shouldRejectOutOfRangeN() {
+        assertThrows(BusinessException.class, () -> bookingService.getTopBids(loadId, 0));
+        assertThrows(BusinessException.class, () -> bookingService.getTopBids(loadId, BookingService.MAX_TOP_BIDS + 1));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void getTopBids_shouldLimitQueryToN() {
+        when(loadService.findEntityById(loadId)).thenReturn(load);
+        when(bookingRepository.findLowestPendingBids(loadId, Limit.of(5))).thenReturn(List.of(booking));
+        when(bookingMapper.toDto(booking)).thenReturn(bookingDTO);
+
+        List<BookingDTO> result = bookingService.getTopBids(loadId, 5);
+
+        assertEquals(List.of(bookingDTO), result);
+    }
+
+    // A fresh copy of the pending booking, as each retried transaction reads it from the database
+    private Booking pendingBooking() {
+        Booking copy = new Booking();
+        copy.setId(bookingId);
+        copy.setLoad(load);
+        copy.setStatus(BookingStatus.PENDING);
+        return copy;
     }
-}
\ No newline at end of file
+}
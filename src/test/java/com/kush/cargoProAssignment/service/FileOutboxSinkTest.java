@@ -0,0 +1,46 @@
+package com.kush.cargoProAssignment.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kush.cargoProAssignment.model.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileOutboxSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void publish_shouldAppendOneJsonLinePerEvent() throws Exception {
+        Path file = directory.resolve("outbox.ndjson");
+        FileOutboxSink sink = new FileOutboxSink(objectMapper, file);
+        UUID loadId = UUID.randomUUID();
+
+        sink.publish(List.of(event(1L, loadId, OutboxEvent.SAVED)));
+        sink.publish(List.of(event(2L, loadId, OutboxEvent.DELETED)));
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(1, first.get("id").asLong());
+        assertEquals(loadId.toString(), first.get("aggregateId").asText());
+        assertEquals("POSTED", first.get("payload").get("status").asText());
+        assertEquals(OutboxEvent.DELETED, objectMapper.readTree(lines.get(1)).get("eventType").asText());
+    }
+
+    private static OutboxEvent event(long id, UUID loadId, String eventType) {
+        return new OutboxEvent(id, OutboxEvent.LOAD, loadId, eventType,
+                "{\"id\":\"" + loadId + "\",\"status\":\"POSTED\"}", LocalDateTime.now());
+    }
+}
@@ -0,0 +1,126 @@
+package com.kush.cargoProAssignment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.mapper.LoadMapper;
+import com.kush.cargoProAssignment.model.Load;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LoadFeedBroadcasterTest {
+
+    private static final int QUEUE_CAPACITY = 4;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoadFeedBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        LoadMapper loadMapper = mock(LoadMapper.class);
+        when(loadMapper.toDto(any(Load.class))).thenAnswer(invocation -> {
+            LoadDTO dto = new LoadDTO();
+            dto.setId(invocation.<Load>getArgument(0).getId());
+            return dto;
+        });
+        meterRegistry = new SimpleMeterRegistry();
+        broadcaster = new LoadFeedBroadcaster(loadMapper, new ObjectMapper(), meterRegistry, QUEUE_CAPACITY,
+                Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void onLoadChanged_shouldSendOnlyMatchingTruckTypes() throws Exception {
+        RecordingEmitter containers = new RecordingEmitter(3);
+        broadcaster.subscribe(containers, "Container");
+
+        broadcaster.onLoadChanged(LoadChangedEvent.saved(load("Flatbed")));
+        Load container = load("Container");
+        broadcaster.onLoadChanged(LoadChangedEvent.saved(container));
+        broadcaster.onLoadChanged(LoadChangedEvent.deleted(container));
+
+        containers.await();
+        // heartbeat, load, load-deleted
+        assertTrue(containers.frames.get(0).contains(":heartbeat"));
+        assertTrue(containers.frames.get(1).startsWith("event:load\nid:" + container.getId()));
+        assertTrue(containers.frames.get(1).contains("\"id\":\"" + container.getId() + "\""));
+        assertTrue(containers.frames.get(2).startsWith("event:load-deleted\n"));
+    }
+
+    @Test
+    void offer_shouldDisconnectSlowConsumer_withoutBlockingOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SseEmitter stalled = new SseEmitter() {
+            @Override
+            public void send(Set<DataWithMediaType> items) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        broadcaster.subscribe(stalled, "Container");
+        RecordingEmitter healthy = new RecordingEmitter(2);
+        broadcaster.subscribe(healthy, "Flatbed");
+
+        for (int i = 0; i < QUEUE_CAPACITY + 2; i++) {
+            broadcaster.onLoadChanged(LoadChangedEvent.saved(load("Container")));
+        }
+        broadcaster.onLoadChanged(LoadChangedEvent.saved(load("Flatbed")));
+
+        healthy.await();
+        assertEquals(1, broadcaster.subscriberCount());
+        assertEquals(1.0, meterRegistry.counter("cargo.feed.slow.disconnects").count());
+        release.countDown();
+    }
+
+    private static Load load(String truckType) {
+        Load load = new Load();
+        load.setId(UUID.randomUUID());
+        load.setTruckType(truckType);
+        return load;
+    }
+
+    // Collects each frame as its SSE text
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received;
+
+        RecordingEmitter(int expectedFrames) {
+            received = new CountDownLatch(expectedFrames);
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            StringBuilder frame = new StringBuilder();
+            items.forEach(item -> frame.append(item.getData()));
+            frames.add(frame.toString());
+            received.countDown();
+        }
+
+        void await() throws InterruptedException {
+            assertTrue(received.await(5, java.util.concurrent.TimeUnit.SECONDS), "received " + frames);
+        }
+    }
+}
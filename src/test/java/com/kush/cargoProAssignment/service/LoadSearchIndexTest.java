@@ -0,0 +1,164 @@
+package com.kush.cargoProAssignment.service;
+
+import com.kush.cargoProAssignment.model.Facility;
+import com.kush.cargoProAssignment.model.Load;
+import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadSearchIndexTest {
+
+    private LoadSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new LoadSearchIndex();
+    }
+
+    @Test
+    void tokenize_shouldLowerCaseAndSplitOnNonAlphanumerics() {
+        assertEquals(List.of("fragile", "glass", "5", "kg", "navi", "mumbai"),
+                LoadSearchIndex.tokenize("Fragile GLASS, 5-kg (Navi Mumbai)"));
+    }
+
+    @Test
+    void search_shouldRankProductTypeAboveComment() {
+        Load inComment = load("Furniture", "Delhi", "Pune", "Packed with electronics");
+        Load inProductType = load("Electronics", "Delhi", "Pune", null);
+        index.put(inComment);
+        index.put(inProductType);
+        index.put(load("Furniture", "Delhi", "Pune", null));
+
+        LoadSearchIndex.Hits hits = index.search("electronics", null, 0, 10);
+
+        assertEquals(List.of(inProductType.getId(), inComment.getId()), ids(hits));
+        assertEquals(2, hits.total());
+    }
+
+    @Test
+    void search_shouldRequireEveryToken() {
+        Load delhiToMumbai = load("Steel", "Delhi", "Mumbai", null);
+        index.put(delhiToMumbai);
+        index.put(load("Steel", "Delhi", "Pune", null));
+
+        assertEquals(List.of(delhiToMumbai.getId()), ids(index.search("steel MUMBAI", null, 0, 10)));
+        assertTrue(index.search("steel chennai", null, 0, 10).hits().isEmpty());
+    }
+
+    @Test
+    void search_shouldMatchPrefixesAndOneTypo() {
+        Load load = load("Electronics", "Mumbai", "Bengaluru", "Handle with care");
+        index.put(load);
+
+        assertEquals(List.of(load.getId()), ids(index.search("elec", null, 0, 10)));
+        assertEquals(List.of(load.getId()), ids(index.search("mumbia", null, 0, 10)));
+        assertEquals(List.of(load.getId()), ids(index.search("bengalru", null, 0, 10)));
+        assertEquals(List.of(load.getId()), ids(index.search("handel", null, 0, 10)));
+        assertTrue(index.search("mumbaaii", null, 0, 10).hits().isEmpty());
+    }
+
+    @Test
+    void search_shouldRankExactAbovePrefixMatches() {
+        Load prefix = load("Steelwork", "Delhi", "Pune", null);
+        Load exact = load("Steel", "Delhi", "Pune", null);
+        index.put(prefix);
+        index.put(exact);
+
+        assertEquals(List.of(exact.getId(), prefix.getId()), ids(index.search("steel", null, 0, 10)));
+    }
+
+    @Test
+    void search_shouldFilterByStatusAndPage() {
+        for (int i = 0; i < 5; i++) {
+            Load load = load("Cement", "Delhi", "Pune", null);
+            load.setStatus(i == 0 ? LoadStatus.BOOKED : LoadStatus.POSTED);
+            index.put(load);
+        }
+
+        LoadSearchIndex.Hits firstPage = index.search("cement", LoadStatus.POSTED, 0, 3);
+        LoadSearchIndex.Hits secondPage = index.search("cement", LoadStatus.POSTED, 3, 3);
+
+        assertEquals(4, firstPage.total());
+        assertEquals(3, firstPage.hits().size());
+        assertEquals(1, secondPage.hits().size());
+        assertFalse(ids(firstPage).contains(secondPage.hits().get(0).id()));
+    }
+
+    @Test
+    void put_shouldReplaceTerms_andIgnoreOlderVersions() {
+        Load load = load("Cement", "Delhi", "Pune", null);
+        load.setVersion(1L);
+        index.put(load);
+
+        Load stale = load("Bricks", "Delhi", "Pune", null);
+        stale.setId(load.getId());
+        stale.setVersion(0L);
+        index.put(stale);
+        assertEquals(1, index.search("cement", null, 0, 10).total());
+
+        Load updated = load("Bricks", "Delhi", "Pune", null);
+        updated.setId(load.getId());
+        updated.setVersion(2L);
+        index.put(updated);
+        assertEquals(0, index.search("cement", null, 0, 10).total());
+        assertEquals(1, index.search("bricks", null, 0, 10).total());
+    }
+
+    @Test
+    void remove_shouldDropLoadAndItsTerms() {
+        Load load = load("Cement", "Delhi", "Pune", null);
+        index.put(load);
+
+        index.remove(load.getId(), 0);
+
+        assertEquals(0, index.size());
+        assertTrue(index.search("cem", null, 0, 10).hits().isEmpty());
+    }
+
+    @Test
+    void onLoadChanged_shouldIgnoreASavedEventThatArrivesAfterTheDeletion() {
+        Load load = load("Cement", "Delhi", "Pune", null);
+        load.setVersion(1L);
+        Load earlier = load("Cement", "Delhi", "Pune", null);
+        earlier.setId(load.getId());
+
+        index.onLoadChanged(LoadChangedEvent.deleted(load));
+        index.onLoadChanged(LoadChangedEvent.saved(earlier));
+        index.onLoadChanged(LoadChangedEvent.saved(load));
+
+        assertEquals(0, index.size());
+        assertEquals(0, index.search("cement", null, 0, 10).total());
+    }
+
+    @Test
+    void isOneEditApart_shouldAcceptSingleEditsOnly() {
+        assertTrue(LoadSearchIndex.isOneEditApart("mumbai", "mumbia"));
+        assertTrue(LoadSearchIndex.isOneEditApart("mumbai", "mumbi"));
+        assertTrue(LoadSearchIndex.isOneEditApart("mumbai", "mumbaii"));
+        assertTrue(LoadSearchIndex.isOneEditApart("mumbai", "numbai"));
+        assertFalse(LoadSearchIndex.isOneEditApart("mumbai", "mumbai"));
+        assertFalse(LoadSearchIndex.isOneEditApart("mumbai", "nimbai"));
+        assertFalse(LoadSearchIndex.isOneEditApart("mumbai", "mumbaiii"));
+    }
+
+    private static List<UUID> ids(LoadSearchIndex.Hits hits) {
+        return hits.hits().stream().map(LoadSearchIndex.Hit::id).toList();
+    }
+
+    private static Load load(String productType, String loadingPoint, String unloadingPoint, String comment) {
+        Load load = new Load();
+        load.setId(UUID.randomUUID());
+        load.setVersion(0L);
+        load.setProductType(productType);
+        load.setFacility(new Facility(loadingPoint, unloadingPoint, LocalDateTime.now(), LocalDateTime.now().plusDays(1)));
+        load.setComment(comment);
+        load.setStatus(LoadStatus.POSTED);
+        return load;
+    }
+}
@@ -1,27 +1,50 @@
 package com.kush.cargoProAssignment.service;
 
+import com.kush.cargoProAssignment.config.CacheConfig;
+import com.kush.cargoProAssignment.dto.BatchResultDTO;
+import com.kush.cargoProAssignment.dto.CursorPageDTO;
 import com.kush.cargoProAssignment.dto.FacilityDTO;
 import com.kush.cargoProAssignment.dto.LoadDTO;
+import com.kush.cargoProAssignment.dto.LoadDateFilterDTO;
+import com.kush.cargoProAssignment.dto.NearbyLoadDTO;
+import com.kush.cargoProAssignment.dto.NearbySearchDTO;
+import com.kush.cargoProAssignment.exceptions.BusinessException;
+import com.kush.cargoProAssignment.exceptions.PreconditionFailedException;
 import com.kush.cargoProAssignment.exceptions.ResourceNotFoundException;
+import com.kush.cargoProAssignment.mapper.LoadMapper;
+import com.kush.cargoProAssignment.model.Booking;
 import com.kush.cargoProAssignment.model.Facility;
 import com.kush.cargoProAssignment.model.Load;
 import com.kush.cargoProAssignment.model.enums.LoadStatus;
+import com.kush.cargoProAssignment.repository.LoadBookingCountsRepository;
 import com.kush.cargoProAssignment.repository.LoadRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,7 +58,28 @@ class LoadServiceTest {
     private LoadRepository loadRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private LoadBookingCountsRepository loadBookingCountsRepository;
+
+    @Mock
+    private LoadMapper loadMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private LoadSpatialIndex spatialIndex;
+
+    @Mock
+    private LoadSearchIndex searchIndex;
 
     @InjectMocks
     private LoadService loadService;
@@ -78,10 +122,9 @@ class LoadServiceTest {
         loadDTO.setWeight(100.0);
         loadDTO.setFacility(facilityDTO);
 
-        // Corrected ModelMapper mocking to return specific objects
-        lenient().when(modelMapper.map(any(LoadDTO.class), eq(Load.class))).thenReturn(load);
-        lenient().when(modelMapper.map(any(Load.class), eq(LoadDTO.class))).thenReturn(loadDTO);
-        lenient().when(modelMapper.map(any(FacilityDTO.class), eq(Facility.class))).thenReturn(facility);
+        lenient().when(loadMapper.toEntity(any(LoadDTO.class))).thenReturn(load);
+        lenient().when(loadMapper.toDto(any(Load.class))).thenReturn(loadDTO);
+        lenient().when(loadMapper.toEntity(any(FacilityDTO.class))).thenReturn(facility);
     }
 
     @Test
@@ -96,17 +139,18 @@ class LoadServiceTest {
         assertNotNull(result);
         assertEquals(LoadStatus.POSTED, load.getStatus());
         verify(loadRepository, times(1)).save(load);
+        verify(eventPublisher).publishEvent(LoadChangedEvent.saved(load));
     }
 
     @Test
     void getLoads_shouldReturnPageOfLoadDTOs() {
         // Given
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Load> loadPage = new PageImpl<>(Collections.singletonList(load));
-        when(loadRepository.findByFilters(any(), any(), any(), any())).thenReturn(loadPage);
+        Page<LoadDTO> loadPage = new PageImpl<>(Collections.singletonList(loadDTO));
+        when(loadRepository.findDtosByFilters(eq("shipper123"), isNull(), isNull(), isNull(), eq(PageRequest.of(0, 10))))
+                .thenReturn(loadPage);
 
         // When
-        Page<LoadDTO> result = loadService.getLoads("shipper123", null, null, 1, 10);
+        Page<LoadDTO> result = loadService.getLoads("shipper123", null, null, null, 1, 10);
 
         // Then
         assertNotNull(result);
@@ -114,6 +158,54 @@ class LoadServiceTest {
         assertEquals(loadDTO, result.getContent().get(0));
     }
 
+    @Test
+    void getLoadsByCursor_shouldReturnNextCursor_whenMoreLoadsExist() {
+        // Given
+        load.setDatePosted(LocalDateTime.of(2024, 8, 1, 10, 0));
+        when(loadRepository.findByFiltersAfter(any(), any(), any(), any(), isNull(), isNull(), any()))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(load), PageRequest.ofSize(1), true));
+
+        // When
+        CursorPageDTO<LoadDTO> result = loadService.getLoadsByCursor(null, null, null, null, null, 1);
+
+        // Then
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertEquals(LoadCursor.of(load), LoadCursor.decode(result.getNextCursor()));
+    }
+
+    @Test
+    void getLoadsByCursor_shouldContinueAfterDecodedCursor() {
+        // Given
+        LoadCursor cursor = new LoadCursor(LocalDateTime.of(2024, 8, 1, 10, 0), UUID.randomUUID());
+        when(loadRepository.findByFiltersAfter(eq("shipper123"), any(), any(), any(),
+                eq(cursor.datePosted()), eq(cursor.id()), any()))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(load), PageRequest.ofSize(10), false));
+
+        // When
+        CursorPageDTO<LoadDTO> result = loadService.getLoadsByCursor("shipper123", null, null, null, cursor.encode(), 10);
+
+        // Then
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getLoadsByCursor_shouldThrowException_whenCursorIsMalformed() {
+        assertThrows(BusinessException.class,
+                () -> loadService.getLoadsByCursor(null, null, null, null, "not-a-cursor", 10));
+        verifyNoInteractions(loadRepository);
+    }
+
+    @Test
+    void getLoads_shouldThrowException_whenDateRangeIsInverted() {
+        LocalDateTime now = LocalDateTime.now();
+        LoadDateFilterDTO dates = new LoadDateFilterDTO(null, null, now, now.minusDays(1));
+
+        assertThrows(BusinessException.class, () -> loadService.getLoads(null, null, null, dates, 1, 10));
+        verifyNoInteractions(loadRepository);
+    }
+
     @Test
     void getLoadById_shouldReturnLoadDTO_whenLoadExists() {
         // Given
@@ -140,7 +232,7 @@ class LoadServiceTest {
     void updateLoad_shouldReturnUpdatedLoadDTO() {
         // Given
         when(loadRepository.findById(loadId)).thenReturn(Optional.of(load));
-        when(loadRepository.save(any(Load.class))).thenReturn(load);
+        when(loadRepository.saveAndFlush(any(Load.class))).thenReturn(load);
 
         LoadDTO updatedDto = new LoadDTO();
         updatedDto.setShipperId("newShipperId");
@@ -150,7 +242,32 @@ class LoadServiceTest {
 
         // Then
         assertNotNull(result);
-        verify(loadRepository, times(1)).save(load);
+        verify(loadRepository, times(1)).saveAndFlush(load);
+    }
+
+    @Test
+    void updateLoad_shouldFailPrecondition_whenVersionDiffers() {
+        // Given
+        load.setVersion(4L);
+        when(loadRepository.findById(loadId)).thenReturn(Optional.of(load));
+
+        // When & Then
+        assertThrows(PreconditionFailedException.class, () -> loadService.updateLoad(loadId, new LoadDTO(), Set.of(3L)));
+        verify(loadRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void updateLoad_shouldUpdate_whenAnyExpectedVersionIsCurrent() {
+        // Given
+        load.setVersion(4L);
+        when(loadRepository.findById(loadId)).thenReturn(Optional.of(load));
+        when(loadRepository.saveAndFlush(any(Load.class))).thenReturn(load);
+
+        // When
+        loadService.updateLoad(loadId, new LoadDTO(), Set.of(3L, 4L));
+
+        // Then
+        verify(loadRepository, times(1)).saveAndFlush(load);
     }
 
     @Test
@@ -163,6 +280,24 @@ class LoadServiceTest {
 
         // Then
         verify(loadRepository, times(1)).delete(load);
+        verify(loadBookingCountsRepository).deleteCounts(loadId);
+    }
+
+    @Test
+    void deleteLoad_shouldEvictCachedBookingsOfTheLoad() {
+        // Given
+        Booking booking = new Booking();
+        booking.setId(UUID.randomUUID());
+        load.setBookings(List.of(booking));
+        Cache bookings = mock(Cache.class);
+        when(cacheManager.getCache(CacheConfig.BOOKINGS)).thenReturn(bookings);
+        when(loadRepository.findById(loadId)).thenReturn(Optional.of(load));
+
+        // When
+        loadService.deleteLoad(loadId);
+
+        // Then
+        verify(bookings, times(1)).evict(booking.getId());
     }
 
     @Test
@@ -173,4 +308,167 @@ class LoadServiceTest {
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> loadService.deleteLoad(loadId));
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateLoadStatus_shouldSetStatusOnManagedLoadWithoutRefetchOrSave() {
+        // When
+        loadService.updateLoadStatus(load, LoadStatus.BOOKED);
+
+        // Then
+        assertEquals(LoadStatus.BOOKED, load.getStatus());
+        verify(loadRepository, never()).findById(any());
+        verify(loadRepository, never()).save(any());
+        verify(entityManager, never()).flush();
+    }
+
+    @Test
+    void transitionStatus_shouldThrowOptimisticLockingFailure_whenVersionChanged() {
+        // Given
+        doThrow(new OptimisticLockException()).when(entityManager).flush();
+
+        // When & Then
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> loadService.transitionStatus(load, LoadStatus.BOOKED));
+    }
+
+    @Test
+    void transitionStatus_shouldFlushVersionedUpdate_whenStatusChanges() {
+        // When
+        loadService.transitionStatus(load, LoadStatus.BOOKED);
+
+        // Then
+        assertEquals(LoadStatus.BOOKED, load.getStatus());
+        verify(entityManager).flush();
+        verify(entityManager, never()).lock(any(), any());
+    }
+
+    @Test
+    void transitionStatus_shouldForceVersionIncrement_whenStatusUnchanged() {
+        // Given
+        load.setStatus(LoadStatus.BOOKED);
+
+        // When
+        loadService.transitionStatus(load, LoadStatus.BOOKED);
+
+        // Then
+        verify(entityManager).lock(load, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        verify(entityManager, never()).flush();
+    }
+
+    @Test
+    void createLoads_shouldInsertValidItemsAndReportInvalidOnes() {
+        // Given
+        LoadDTO invalid = new LoadDTO();
+        @SuppressWarnings("unchecked")
+        ConstraintViolation<LoadDTO> violation = mock(ConstraintViolation.class);
+        Path path = mock(Path.class);
+        when(path.toString()).thenReturn("shipperId");
+        when(violation.getPropertyPath()).thenReturn(path);
+        when(violation.getMessage()).thenReturn("Shipper ID is required");
+        when(validator.validate(loadDTO)).thenReturn(Collections.emptySet());
+        when(validator.validate(invalid)).thenReturn(Set.of(violation));
+        when(loadMapper.toEntity(loadDTO)).thenAnswer(invocation -> {
+            Load entity = new Load();
+            entity.setId(UUID.randomUUID());
+            return entity;
+        });
+
+        // When
+        BatchResultDTO result = loadService.createLoads(List.of(loadDTO, invalid, loadDTO).iterator());
+
+        // Then
+        assertEquals(3, result.getReceived());
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getRejected());
+        assertTrue(result.getResults().get(0).isCreated());
+        assertNotNull(result.getResults().get(0).getId());
+        assertEquals(Map.of("shipperId", "Shipper ID is required"), result.getResults().get(1).getErrors());
+        verify(loadRepository, times(1)).saveAll(any());
+        verify(entityManager, times(1)).flush();
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    void createLoads_shouldFlushEveryBatchFlushSize() {
+        // Given
+        when(validator.validate(loadDTO)).thenReturn(Collections.emptySet());
+        when(loadMapper.toEntity(loadDTO)).thenAnswer(invocation -> new Load());
+        List<LoadDTO> loads = Collections.nCopies(LoadService.BATCH_FLUSH_SIZE * 2 + 1, loadDTO);
+
+        // When
+        BatchResultDTO result = loadService.createLoads(loads.iterator());
+
+        // Then
+        assertEquals(loads.size(), result.getCreated());
+        verify(loadRepository, times(3)).saveAll(any());
+        verify(entityManager, times(3)).flush();
+    }
+
+    @Test
+    void findNearby_shouldReturnIndexMatchesThatAreStillPosted_nearestFirst() {
+        Load booked = new Load();
+        booked.setId(UUID.randomUUID());
+        booked.setStatus(LoadStatus.BOOKED);
+        when(spatialIndex.search(eq(28.6), eq(77.2), eq(50.0), any(), eq(20))).thenReturn(List.of(
+                new LoadSpatialIndex.Match(booked.getId(), 3.0),
+                new LoadSpatialIndex.Match(loadId, 7.5)));
+        when(loadRepository.findAllById(List.of(booked.getId(), loadId))).thenReturn(List.of(load, booked));
+
+        NearbySearchDTO search = new NearbySearchDTO();
+        search.setLatitude(28.6);
+        search.setLongitude(77.2);
+        List<NearbyLoadDTO> result = loadService.findNearby(search);
+
+        assertEquals(1, result.size());
+        assertSame(loadDTO, result.get(0).getLoad());
+        assertEquals(7.5, result.get(0).getDistanceKm());
+    }
+
+    @Test
+    void findNearby_shouldRejectOutOfRangeParameters() {
+        NearbySearchDTO search = new NearbySearchDTO();
+        search.setLatitude(28.6);
+        search.setLongitude(77.2);
+        search.setRadiusKm(LoadService.MAX_NEARBY_RADIUS_KM + 1);
+
+        assertThrows(BusinessException.class, () -> loadService.findNearby(search));
+
+        search.setRadiusKm(Double.NaN);
+        assertThrows(BusinessException.class, () -> loadService.findNearby(search));
+
+        search.setRadiusKm(50);
+        search.setDestinationRadiusKm(Double.POSITIVE_INFINITY);
+        assertThrows(BusinessException.class, () -> loadService.findNearby(search));
+
+        search.setDestinationRadiusKm(50);
+        search.setDestinationLatitude(19.0);
+        assertThrows(BusinessException.class, () -> loadService.findNearby(search));
+        verifyNoInteractions(spatialIndex);
+    }
+
+    @Test
+    void searchLoads_shouldReturnHitsInRankOrder_skippingLoadsNoLongerPresent() {
+        Load second = new Load();
+        second.setId(UUID.randomUUID());
+        UUID deleted = UUID.randomUUID();
+        when(searchIndex.search("cement delhi", LoadStatus.POSTED, 10, 10)).thenReturn(new LoadSearchIndex.Hits(List.of(
+                new LoadSearchIndex.Hit(loadId, 5.0),
+                new LoadSearchIndex.Hit(deleted, 4.0),
+                new LoadSearchIndex.Hit(second.getId(), 3.0)), 23));
+        when(loadRepository.findAllById(List.of(loadId, deleted, second.getId()))).thenReturn(List.of(second, load));
+        LoadDTO secondDTO = new LoadDTO();
+        when(loadMapper.toDto(second)).thenReturn(secondDTO);
+
+        Page<LoadDTO> result = loadService.searchLoads("cement delhi", LoadStatus.POSTED, 2, 10);
+
+        assertEquals(List.of(loadDTO, secondDTO), result.getContent());
+        assertEquals(23, result.getTotalElements());
+    }
+
+    @Test
+    void searchLoads_shouldRejectBlankQueriesAndDeepPages() {
+        assertThrows(BusinessException.class, () -> loadService.searchLoads(" - ", null, 1, 10));
+        assertThrows(BusinessException.class, () -> loadService.searchLoads("cement", null, 11, 100));
+        verifyNoInteractions(searchIndex);
+    }
+}
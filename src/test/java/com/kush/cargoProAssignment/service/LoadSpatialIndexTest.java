@@ -0,0 +1,117 @@
+package com.kush.cargoProAssignment.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadSpatialIndexTest {
+
+    private LoadSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new LoadSpatialIndex();
+    }
+
+    @Test
+    void search_shouldReturnEntriesWithinRadius_nearestFirst() {
+        UUID connaughtPlace = put(28.6315, 77.2167, "Container");
+        UUID gurgaon = put(28.4595, 77.0266, "Container");
+        put(19.0760, 72.8777, "Container"); // Mumbai
+
+        List<LoadSpatialIndex.Match> matches = index.search(28.6139, 77.2090, 50, entry -> true, 10);
+
+        assertEquals(List.of(connaughtPlace, gurgaon), matches.stream().map(LoadSpatialIndex.Match::id).toList());
+        assertEquals(2.1, matches.get(0).distanceKm(), 0.1);
+    }
+
+    @Test
+    void search_shouldApplyFilterAndLimit() {
+        UUID nearest = put(28.62, 77.21, "Container");
+        put(28.63, 77.21, "Container");
+        put(28.614, 77.209, "Flatbed");
+
+        List<LoadSpatialIndex.Match> matches = index.search(28.6139, 77.2090, 50,
+                entry -> entry.truckType().equals("Container"), 1);
+
+        assertEquals(1, matches.size());
+        assertEquals(nearest, matches.get(0).id());
+    }
+
+    @Test
+    void search_shouldFindEntriesAcrossTheAntimeridian() {
+        UUID fiji = put(-17.0, 179.95, "Container");
+
+        List<LoadSpatialIndex.Match> matches = index.search(-17.0, -179.95, 20, entry -> true, 10);
+
+        assertEquals(List.of(fiji), matches.stream().map(LoadSpatialIndex.Match::id).toList());
+    }
+
+    @Test
+    void put_shouldMoveEntry_andIgnoreOlderVersions() {
+        UUID id = UUID.randomUUID();
+        index.put(entry(id, 2, 28.61, 77.21, "Container"));
+        index.put(entry(id, 1, 19.07, 72.87, "Container"));
+
+        assertEquals(1, index.search(28.61, 77.21, 10, entry -> true, 10).size());
+
+        index.put(entry(id, 3, 19.07, 72.87, "Container"));
+
+        assertTrue(index.search(28.61, 77.21, 10, entry -> true, 10).isEmpty());
+        assertEquals(1, index.search(19.07, 72.87, 10, entry -> true, 10).size());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void remove_shouldDropEntry() {
+        UUID id = put(28.61, 77.21, "Container");
+
+        index.remove(id, 0);
+
+        assertTrue(index.search(28.61, 77.21, 10, entry -> true, 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void put_shouldNotResurrectALoadRemovedAtTheSameOrANewerVersion() {
+        UUID id = UUID.randomUUID();
+        index.put(entry(id, 1, 28.61, 77.21, "Container"));
+
+        // The load was booked at version 2, and the "saved" event of version 1 or 2 arrives late
+        index.remove(id, 2);
+        index.put(entry(id, 1, 28.61, 77.21, "Container"));
+        index.put(entry(id, 2, 28.61, 77.21, "Container"));
+        assertEquals(0, index.size());
+
+        // Posted again at version 3
+        index.put(entry(id, 3, 28.61, 77.21, "Container"));
+        assertEquals(1, index.search(28.61, 77.21, 10, entry -> true, 10).size());
+    }
+
+    @Test
+    void remove_shouldKeepANewerEntry() {
+        UUID id = UUID.randomUUID();
+        index.put(entry(id, 3, 28.61, 77.21, "Container"));
+
+        index.remove(id, 2);
+
+        assertEquals(1, index.search(28.61, 77.21, 10, entry -> true, 10).size());
+    }
+
+    private UUID put(double latitude, double longitude, String truckType) {
+        UUID id = UUID.randomUUID();
+        index.put(entry(id, 0, latitude, longitude, truckType));
+        return id;
+    }
+
+    private static LoadSpatialIndex.Entry entry(UUID id, long version, double latitude, double longitude,
+                                                String truckType) {
+        return new LoadSpatialIndex.Entry(id, version, latitude, longitude, null, null, truckType,
+                LocalDateTime.now().plusDays(1));
+    }
+}